@@ -0,0 +1,141 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load generator used to compare the platform and virtual thread request execution modes,
+ * see {@code scripts/load-benchmark.sh}. A single JDK only source file, run against any instance with
+ * {@code java scripts/HttpLoadBenchmark.java [options]}.
+ * <p>
+ * Options: {@code --base-url} (http://localhost:8080), {@code --mode} (label written in the result),
+ * {@code --concurrency} (400), {@code --seconds} (30), {@code --warmup} (10), {@code --seed} (books to create
+ * first through the bulk endpoint, 0) and {@code --path} (one or more comma separated request paths, a mix of a
+ * cheap page read and an unindexed title scan by default).
+ * Prints one JSON line with throughput and latency percentiles.
+ */
+public final class HttpLoadBenchmark {
+    private static final Pattern AUTHOR_ID = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-f-]{36})\"");
+
+    private HttpLoadBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final var options = options(args);
+        final var baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        final var mode = options.getOrDefault("mode", "unknown");
+        final var concurrency = Integer.parseInt(options.getOrDefault("concurrency", "400"));
+        final var seconds = Integer.parseInt(options.getOrDefault("seconds", "30"));
+        final var warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        final var seed = Integer.parseInt(options.getOrDefault("seed", "0"));
+        final var paths = options.getOrDefault("path", "/api/v1/books?limit=50,/api/v1/books/search?title=spring%20security").split(",");
+
+        final var client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        if (seed > 0) seed(client, baseUrl, seed);
+
+        run(client, baseUrl, paths, concurrency, warmup);
+        final var result = run(client, baseUrl, paths, concurrency, seconds);
+
+        System.out.printf("{\"mode\":\"%s\",\"concurrency\":%d,\"seconds\":%d,\"requests\":%d,\"errors\":%d,"
+                        + "\"throughput\":%.1f,\"p50Ms\":%.2f,\"p99Ms\":%.2f,\"maxMs\":%.2f}%n",
+                mode, concurrency, seconds, result.latencies.length, result.errors,
+                result.latencies.length / (double) seconds,
+                percentile(result.latencies, 0.50), percentile(result.latencies, 0.99), percentile(result.latencies, 1.0));
+    }
+
+    private record Result(long[] latencies, long errors) {
+    }
+
+    private static Result run(final HttpClient client, final String baseUrl, final String[] paths,
+                              final int concurrency, final int seconds) throws InterruptedException {
+        final var running = new AtomicBoolean(true);
+        final var errors = new AtomicLong();
+        final var perWorker = new ArrayList<List<Long>>(concurrency);
+        try (final var workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                final var latencies = new ArrayList<Long>();
+                perWorker.add(latencies);
+                final var offset = w;
+                workers.submit(() -> {
+                    var i = offset;
+                    while (running.get()) {
+                        final var request = HttpRequest.newBuilder(URI.create(baseUrl + paths[i++ % paths.length]))
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        final var start = System.nanoTime();
+                        try {
+                            final var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) errors.incrementAndGet();
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies.add(System.nanoTime() - start);
+                    }
+                });
+            }
+            Thread.sleep(seconds * 1_000L);
+            running.set(false);
+        }
+        final var all = perWorker.stream().flatMap(List::stream).mapToLong(Long::longValue).toArray();
+        Arrays.sort(all);
+        return new Result(all, errors.get());
+    }
+
+    private static double percentile(final long[] sorted, final double percentile) {
+        if (sorted.length == 0) return 0;
+        final var index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static void seed(final HttpClient client, final String baseUrl, final int books) throws Exception {
+        final var author = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/authors"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("""
+                                {"firstname": "Load", "lastname": "Benchmark", "email": "load.benchmark.%d@mail.org"}
+                                """.formatted(System.nanoTime())))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        final var matcher = AUTHOR_ID.matcher(author.body());
+        if (!matcher.find()) throw new IllegalStateException("Unable to create seed author: " + author.body());
+        final var authorId = matcher.group(1);
+
+        for (int from = 0; from < books; from += 5_000) {
+            final var body = new StringBuilder("[");
+            for (int i = from; i < Math.min(from + 5_000, books); i++) {
+                if (i > from) body.append(',');
+                body.append("""
+                        {"title": "Load book %d", "pages": %d, "summary": "Generated summary of load book %d", "authorIds": ["%s"]}"""
+                        .formatted(i, 100 + i % 900, i, authorId));
+            }
+            body.append(']');
+            final var response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/books/bulk"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) throw new IllegalStateException("Seeding failed with status " + response.statusCode());
+        }
+    }
+
+    private static Map<String, String> options(final String[] args) {
+        final var options = new HashMap<String, String>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,14 @@
+#!/usr/bin/env sh
+# Runs the JMH benchmarks of src/jmh/java and keeps the JSON results per commit.
+# Usage: scripts/benchmark.sh [benchmark regexp]   e.g. scripts/benchmark.sh 'MappingBenchmark|JsonBenchmark'
+# Results are written to target/benchmarks/<commit>.json, compare two commits with any JMH JSON viewer.
+set -e
+
+INCLUDES=${1:-.*}
+COMMIT=$(git rev-parse --short HEAD)
+[ -n "$(git status --porcelain --untracked-files=no)" ] && COMMIT="$COMMIT-dirty"
+mkdir -p target/benchmarks
+
+./mvnw -q -Pbenchmark -DskipTests test-compile exec:exec \
+  -Djmh.includes="$INCLUDES" -Djmh.result="$(pwd)/target/benchmarks/$COMMIT.json"
+echo "JMH results written to target/benchmarks/$COMMIT.json"
@@ -0,0 +1,33 @@
+#!/usr/bin/env sh
+# Compares request execution on Tomcat platform threads and on virtual threads.
+# Usage: scripts/load-benchmark.sh [concurrency] [seconds] [books] [pool size]
+# Each mode gets a fresh instance seeded with the same generated catalog ('seed' profile) and the same
+# connection pool size, so that only the threading model differs. Results are appended to target/load-benchmark.jsonl
+set -e
+
+CONCURRENCY=${1:-400}
+SECONDS_PER_RUN=${2:-30}
+BOOKS=${3:-20000}
+POOL_SIZE=${4:-10}
+PORT=18080
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/books-*.jar | grep -v original | head -1)
+mkdir -p target
+
+for MODE in platform virtual; do
+  PROFILES=seed
+  [ "$MODE" = "virtual" ] && PROFILES=virtual-threads,seed
+  java -jar "$JAR" --server.port=$PORT --spring.profiles.active=$PROFILES \
+    --spring.datasource.hikari.maximum-pool-size="$POOL_SIZE" \
+    --books.datagen.books="$BOOKS" --books.datagen.authors=$((BOOKS / 5 + 1)) > "target/load-benchmark-$MODE.log" 2>&1 &
+  PID=$!
+  until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do sleep 1; done
+
+  java scripts/HttpLoadBenchmark.java \
+    --base-url "http://localhost:$PORT" --mode $MODE \
+    --concurrency "$CONCURRENCY" --seconds "$SECONDS_PER_RUN" | tee -a target/load-benchmark.jsonl
+
+  kill $PID
+  wait $PID 2> /dev/null || true
+done
@@ -0,0 +1,81 @@
+package com.workbeattalent.books.bench;
+
+import com.workbeattalent.books.author.Author;
+import com.workbeattalent.books.book.Book;
+import com.workbeattalent.books.book.BookRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Books by author lastname on a large author table: the lookup on the indexed normalized columns against the
+ * case folding comparison it replaced, which cannot use an index and scans every author. The name is only taken
+ * from lastnames: generated firstnames come from a small pool and would match a large share of the catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AuthorNameLookupBenchmark {
+    private static final String INDEXED = "select distinct ba.book_id from author a join books_authors ba on ba.author_id = a.id "
+            + "where a.firstname_normalized = ? or a.lastname_normalized = ?";
+    private static final String CASE_FOLDED = "select distinct ba.book_id from author a join books_authors ba on ba.author_id = a.id "
+            + "where lower(a.firstname) = lower(?) or lower(a.lastname) = lower(?)";
+
+    @Param({"100000", "1000000"})
+    private int authors;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbc;
+    private List<String> lastnames;
+    private BookRepository repository;
+    private TransactionTemplate readOnly;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        this.context = BenchmarkCatalog.start("author-name-lookup-benchmark");
+        BenchmarkCatalog.seed(this.context, this.authors, 100_000, 42);
+        this.jdbc = this.context.getBean(JdbcTemplate.class);
+        this.lastnames = this.jdbc.queryForList("select lastname from author fetch first 1000 rows only", String.class);
+        this.repository = this.context.getBean(BookRepository.class);
+        this.readOnly = new TransactionTemplate(this.context.getBean(PlatformTransactionManager.class));
+        this.readOnly.setReadOnly(true);
+        this.random = new Random(7);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public List<Long> indexedNormalizedNames() {
+        final var lastname = Author.normalizeName(nextLastname());
+        return this.jdbc.queryForList(INDEXED, Long.class, lastname, lastname);
+    }
+
+    @Benchmark
+    public List<Long> caseFoldedScan() {
+        final var lastname = nextLastname().toUpperCase();
+        return this.jdbc.queryForList(CASE_FOLDED, Long.class, lastname, lastname);
+    }
+
+    @Benchmark
+    public List<Book> repositoryLookup() {
+        final var lastname = Author.normalizeName(nextLastname());
+        return this.readOnly.execute(status -> this.repository.findByAuthorNormalizedName(lastname, lastname));
+    }
+
+    private String nextLastname() {
+        return this.lastnames.get(this.random.nextInt(this.lastnames.size()));
+    }
+}
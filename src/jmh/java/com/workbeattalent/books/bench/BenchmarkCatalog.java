@@ -0,0 +1,111 @@
+package com.workbeattalent.books.bench;
+
+import com.workbeattalent.books.BooksApplication;
+import com.workbeattalent.books.author.Author;
+import com.workbeattalent.books.book.Book;
+import com.workbeattalent.books.datagen.CatalogGenerator;
+import com.workbeattalent.books.datagen.CatalogSpec;
+import com.workbeattalent.books.search.BookSearchIndexInitializer;
+import com.workbeattalent.books.util.UuidV7Generator;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fixtures shared by the benchmarks: in-memory entities for the CPU bound ones, and an embedded H2 filled by
+ * the catalog generator behind the real application context for the database bound ones. Data comes from a
+ * fixed seed so that runs on different commits measure the same catalog.
+ */
+final class BenchmarkCatalog {
+    static final String[] TITLE_WORDS = {"Spring", "Boot", "Java", "Blockchain", "Security", "Data", "Cloud", "Patterns",
+            "Kotlin", "Microservices", "Reactive", "Testing", "Kubernetes", "Domain", "Driven", "Design"};
+
+    private BenchmarkCatalog() {
+    }
+
+    /**
+     * Books with one to three authors each, detached, ids set.
+     */
+    static List<Book> books(final int count, final long seed) {
+        final var random = new Random(seed);
+        final var authors = new ArrayList<Author>();
+        for (int i = 0; i < Math.max(1, count / 2); i++) authors.add(author(i));
+        final var books = new ArrayList<Book>(count);
+        for (int i = 0; i < count; i++) {
+            final var bookAuthors = new HashSet<Author>();
+            for (int a = 0; a <= random.nextInt(3); a++) bookAuthors.add(authors.get(random.nextInt(authors.size())));
+            books.add(Book.builder()
+                    .id(i + 1L)
+                    .title(title(random, i))
+                    .pages(50 + random.nextInt(950))
+                    .summary(summary(random))
+                    .authors(bookAuthors)
+                    .version(0L)
+                    .build());
+        }
+        return books;
+    }
+
+    static Author author(final int i) {
+        return Author.builder()
+                .id(UuidV7Generator.next())
+                .firstname("Firstname" + i)
+                .lastname("Lastname" + i)
+                .email("author" + i + "@mail.org")
+                .version(0L)
+                .build();
+    }
+
+    /**
+     * Application without the web layer, on its own in-memory database.
+     */
+    static ConfigurableApplicationContext start(final String name, final String... properties) {
+        final var defaults = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN"));
+        defaults.addAll(List.of(properties));
+        return new SpringApplicationBuilder(BooksApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(defaults.toArray(String[]::new))
+                .run();
+    }
+
+    /**
+     * Application without the web layer, configured by command line arguments: unlike the properties of
+     * {@link #start(String, String...)}, they override the application and profile files.
+     */
+    static ConfigurableApplicationContext run(final String... arguments) {
+        return new SpringApplicationBuilder(BooksApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .run(arguments);
+    }
+
+    /**
+     * Generates the catalog with {@link CatalogGenerator}, then rebuilds the search structures as the application
+     * would at startup.
+     */
+    static void seed(final ConfigurableApplicationContext context, final int authors, final int books, final long seed) {
+        context.getBean(CatalogGenerator.class).generate(new CatalogSpec(authors, books, seed));
+        context.getBean(BookSearchIndexInitializer.class).rebuild();
+    }
+
+    private static String title(final Random random, final int i) {
+        return TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " " + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " " + i;
+    }
+
+    private static String summary(final Random random) {
+        final var summary = new StringBuilder();
+        for (int w = 0; w < 40; w++) {
+            if (w > 0) summary.append(' ');
+            summary.append(TITLE_WORDS[random.nextInt(TITLE_WORDS.length)].toLowerCase());
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package com.workbeattalent.books.bench;
+
+import com.workbeattalent.books.book.BookService;
+import com.workbeattalent.books.dto.BookPage;
+import com.workbeattalent.books.dto.BookResponse;
+import com.workbeattalent.books.dto.BookSearchResult;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service and repository read paths against a seeded embedded H2. Each call runs in a read-only transaction,
+ * as it would within a web request where the session stays open until the response is written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookQueryBenchmark {
+    @Param({"10000"})
+    private int books;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private TransactionTemplate readOnly;
+    private List<UUID> authorIds;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        this.context = BenchmarkCatalog.start("book-query-benchmark");
+        BenchmarkCatalog.seed(this.context, this.books / 5, this.books, 42);
+        this.authorIds = this.context.getBean(JdbcTemplate.class)
+                .queryForList("select id from author order by id fetch first 1000 rows only", UUID.class);
+        this.bookService = this.context.getBean(BookService.class);
+        this.readOnly = new TransactionTemplate(this.context.getBean(PlatformTransactionManager.class));
+        this.readOnly.setReadOnly(true);
+        this.random = new Random(7);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public BookPage findPage() {
+        final long after = this.random.nextInt(this.books);
+        return this.readOnly.execute(status -> this.bookService.findPage(after, 20));
+    }
+
+    @Benchmark
+    public List<BookResponse> findAll() {
+        return this.readOnly.execute(status -> this.bookService.findAll());
+    }
+
+    @Benchmark
+    public List<BookResponse> findByTitleContaining() {
+        return this.readOnly.execute(status -> this.bookService.findByTitleContaining("security"));
+    }
+
+    @Benchmark
+    public BookSearchResult search() {
+        return this.readOnly.execute(status -> this.bookService.search("spring security", 0, 20));
+    }
+
+    @Benchmark
+    public BookPage findPageByAuthor() {
+        final var authorId = this.authorIds.get(this.random.nextInt(this.authorIds.size()));
+        return this.readOnly.execute(status -> this.bookService.findPageByAuthor(authorId, null, 20));
+    }
+}
@@ -0,0 +1,39 @@
+package com.workbeattalent.books.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workbeattalent.books.dto.BookResponse;
+import com.workbeattalent.books.util.EntityDtoMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of list responses, with the object mapper configured the way Spring configures it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+    @Param({"20", "100"})
+    private int books;
+
+    private ObjectMapper objectMapper;
+    private List<BookResponse> responses;
+
+    @Setup
+    public void setUp() {
+        this.objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        final var mapper = new EntityDtoMapper();
+        this.responses = BenchmarkCatalog.books(this.books, 42).stream().map(mapper::fromBook).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeBookList() throws Exception {
+        return this.objectMapper.writeValueAsBytes(this.responses);
+    }
+}
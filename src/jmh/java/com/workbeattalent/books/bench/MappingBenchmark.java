@@ -0,0 +1,40 @@
+package com.workbeattalent.books.bench;
+
+import com.workbeattalent.books.book.Book;
+import com.workbeattalent.books.dto.BookResponse;
+import com.workbeattalent.books.util.EntityDtoMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mapping, per book and for a full list page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+    private final EntityDtoMapper mapper = new EntityDtoMapper();
+    private List<Book> books;
+    private Book book;
+
+    @Setup
+    public void setUp() {
+        this.books = BenchmarkCatalog.books(100, 42);
+        this.book = this.books.getFirst();
+    }
+
+    @Benchmark
+    public BookResponse fromBook() {
+        return this.mapper.fromBook(this.book);
+    }
+
+    @Benchmark
+    public List<BookResponse> fromBookPage() {
+        return this.books.stream().map(this.mapper::fromBook).toList();
+    }
+}
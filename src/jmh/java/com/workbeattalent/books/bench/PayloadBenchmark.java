@@ -0,0 +1,72 @@
+package com.workbeattalent.books.bench;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workbeattalent.books.dto.BookResponse;
+import com.workbeattalent.books.util.EntityDtoMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON against the binary encodings negotiated by the API, for list responses: time to write and to read a
+ * payload, and its size raw and gzipped, printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadBenchmark {
+    private static final TypeReference<List<BookResponse>> BOOK_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"100", "1000"})
+    private int books;
+
+    private ObjectMapper objectMapper;
+    private List<BookResponse> responses;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.objectMapper = switch (this.format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> throw new IllegalArgumentException("Unknown format: " + this.format);
+        };
+        final var mapper = new EntityDtoMapper();
+        this.responses = BenchmarkCatalog.books(this.books, 42).stream().map(mapper::fromBook).toList();
+        this.payload = this.objectMapper.writeValueAsBytes(this.responses);
+        System.out.printf("%n[payload] %s, %d books: %d bytes, %d bytes gzipped%n",
+                this.format, this.books, this.payload.length, gzip(this.payload).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return this.objectMapper.writeValueAsBytes(this.responses);
+    }
+
+    @Benchmark
+    public List<BookResponse> deserialize() throws IOException {
+        return this.objectMapper.readValue(this.payload, BOOK_LIST);
+    }
+
+    private static byte[] gzip(final byte[] bytes) throws IOException {
+        final var out = new ByteArrayOutputStream();
+        try (final var gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
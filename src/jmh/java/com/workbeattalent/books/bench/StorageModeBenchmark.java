@@ -0,0 +1,211 @@
+package com.workbeattalent.books.bench;
+
+import com.workbeattalent.books.book.BookService;
+import com.workbeattalent.books.datagen.CatalogGenerator;
+import com.workbeattalent.books.datagen.CatalogSpec;
+import com.workbeattalent.books.dto.BookPage;
+import com.workbeattalent.books.dto.BookResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The in-memory database against the H2 file of the 'h2file' profile. Cold start is the time to a ready
+ * application after a restart: the file is reopened, with the search index rebuilt in the background or before
+ * being ready, while the in-memory catalog has to be generated again. Opening the file alone, without the
+ * application, is measured on its own. Steady state reads pages and single books once started. The second-level
+ * cache is off so that reads hit the storage. At 1M books the search index alone outgrows a 4.8 GB heap: compare the
+ * application on both storages with a smaller catalog, e.g. {@code -p books=250000}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StorageModeBenchmark {
+    private static final int AUTHORS = 100_000;
+    private static final long SEED = 42;
+    private static final String NO_SECOND_LEVEL_CACHE = "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false";
+    private static final AtomicInteger MEMORY_DATABASES = new AtomicInteger();
+    // The storage settings of application-h2file.yml
+    private static final String FILE_SETTINGS = ";CACHE_SIZE=262144;PAGE_SIZE=16384;WRITE_DELAY=500;MAX_COMPACT_TIME=5000";
+
+    /**
+     * Database file generated once per trial.
+     */
+    @State(Scope.Benchmark)
+    public static class CatalogFile {
+        @Param({"1000000"})
+        int books;
+
+        Path directory;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            this.directory = Files.createTempDirectory("books-h2file-benchmark");
+            // Generated only: the search index is rebuilt by every start of the application
+            try (final var context = onFile(this.directory, false)) {
+                context.getBean(CatalogGenerator.class).generate(new CatalogSpec(AUTHORS, this.books, SEED));
+            }
+            try (final var files = Files.list(this.directory)) {
+                System.out.printf("%nDatabase file: %,d MB%n", files.mapToLong(file -> file.toFile().length()).sum() / (1024 * 1024));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            FileSystemUtils.deleteRecursively(this.directory);
+        }
+    }
+
+    /**
+     * Application started by a measured cold start, closed outside the measurement.
+     */
+    @State(Scope.Thread)
+    public static class Started {
+        ConfigurableApplicationContext context;
+
+        @TearDown(Level.Invocation)
+        public void tearDown() {
+            if (this.context != null) this.context.close();
+            this.context = null;
+        }
+    }
+
+    /**
+     * Connection that opened the file in a measured invocation, closed outside the measurement.
+     */
+    @State(Scope.Thread)
+    public static class Opened {
+        Connection connection;
+
+        @TearDown(Level.Invocation)
+        public void tearDown() throws SQLException {
+            if (this.connection != null) this.connection.close();
+            this.connection = null;
+        }
+    }
+
+    /**
+     * Application started once per trial on either storage.
+     */
+    @State(Scope.Benchmark)
+    public static class Running {
+        @Param({"memory", "file"})
+        String storage;
+
+        ConfigurableApplicationContext context;
+        BookService bookService;
+        long firstId;
+        long lastId;
+        Random random;
+
+        @Setup(Level.Trial)
+        public void setUp(final CatalogFile catalog) {
+            if ("file".equals(this.storage)) {
+                this.context = onFile(catalog.directory, false);
+            } else {
+                this.context = inMemory();
+                BenchmarkCatalog.seed(this.context, AUTHORS, catalog.books, SEED);
+            }
+            this.bookService = this.context.getBean(BookService.class);
+            final var jdbc = this.context.getBean(JdbcTemplate.class);
+            this.firstId = jdbc.queryForObject("select min(id) from book", Long.class);
+            this.lastId = jdbc.queryForObject("select max(id) from book", Long.class);
+            this.random = new Random(7);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            this.context.close();
+        }
+
+        long nextId() {
+            return this.firstId + (long) (this.random.nextDouble() * (this.lastId - this.firstId));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public ConfigurableApplicationContext coldStartFromFile(final CatalogFile catalog, final Started started) {
+        started.context = onFile(catalog.directory, true);
+        return started.context;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public ConfigurableApplicationContext coldStartFromFileWithIndex(final CatalogFile catalog, final Started started) {
+        started.context = onFile(catalog.directory, false);
+        return started.context;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public ConfigurableApplicationContext coldStartInMemory(final CatalogFile catalog, final Started started) {
+        started.context = inMemory();
+        BenchmarkCatalog.seed(started.context, AUTHORS, catalog.books, SEED);
+        return started.context;
+    }
+
+    /**
+     * The file opened through JDBC with the settings of the profile, then a first page read, without the application.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public int openFile(final CatalogFile catalog, final Opened opened) throws SQLException {
+        opened.connection = DriverManager.getConnection("jdbc:h2:file:" + catalog.directory.resolve("books") + FILE_SETTINGS, "sa", "");
+        try (final var statement = opened.connection.createStatement();
+             final var page = statement.executeQuery("select id, title, pages from book order by id fetch first 100 rows only")) {
+            int rows = 0;
+            while (page.next()) rows++;
+            return rows;
+        }
+    }
+
+    @Benchmark
+    public BookPage pageOfBooks(final Running running) {
+        return running.bookService.findPage(running.nextId(), 100);
+    }
+
+    @Benchmark
+    public BookResponse bookById(final Running running) {
+        // With fields, the book is read from the database instead of the response cache
+        return running.bookService.findById(running.nextId(), "title,pages,summary,authors,version");
+    }
+
+    private static ConfigurableApplicationContext onFile(final Path directory, final boolean rebuildInBackground) {
+        return BenchmarkCatalog.run("--spring.profiles.active=h2file",
+                "--books.storage.path=" + directory.resolve("books"),
+                "--books.search.rebuild-in-background=" + rebuildInBackground,
+                NO_SECOND_LEVEL_CACHE);
+    }
+
+    // Without DB_CLOSE_DELAY, the database is dropped with the pool when the application is closed
+    private static ConfigurableApplicationContext inMemory() {
+        return BenchmarkCatalog.run("--spring.datasource.url=jdbc:h2:mem:storage-mode-" + MEMORY_DATABASES.incrementAndGet(),
+                NO_SECOND_LEVEL_CACHE);
+    }
+}
@@ -0,0 +1,76 @@
+package com.workbeattalent.books.bench;
+
+import com.workbeattalent.books.util.CompressedText;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pages of 100 books read with their summary stored as plain text, with the compressed summary inflated, and
+ * without the summary at all, as list responses that leave it out do. The plain copy of the book table is built
+ * once at setup; the stored sizes of both summary columns are printed then.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SummaryStorageBenchmark {
+    private static final int BOOKS = 100_000;
+    private static final int PAGE = 100;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbc;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        this.context = BenchmarkCatalog.start("summary-storage-benchmark");
+        BenchmarkCatalog.seed(this.context, 10_000, BOOKS, 42);
+        this.jdbc = this.context.getBean(JdbcTemplate.class);
+        this.jdbc.execute("create table book_plain (id bigint primary key, title varchar(255) not null, pages integer not null, summary text not null)");
+        final var rows = new ArrayList<Object[]>(BOOKS);
+        this.jdbc.query("select id, title, pages, summary from book", row -> {
+            rows.add(new Object[]{row.getLong(1), row.getString(2), row.getInt(3), CompressedText.decompress(row.getBytes(4))});
+        });
+        this.jdbc.batchUpdate("insert into book_plain (id, title, pages, summary) values (?, ?, ?, ?)", rows);
+        // DISK_SPACE_USED is 0 for an in-memory database: compare the stored bytes of the column
+        System.out.printf("%nSummaries: %,d bytes compressed against %,d plain%n",
+                this.jdbc.queryForObject("select sum(octet_length(summary)) from book", Long.class),
+                this.jdbc.queryForObject("select sum(octet_length(summary)) from book_plain", Long.class));
+        this.random = new Random(7);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public List<String> plainSummaries() {
+        return this.jdbc.query("select id, title, pages, summary from book_plain where id > ? order by id fetch first " + PAGE + " rows only",
+                (row, i) -> row.getString(4), nextAfter());
+    }
+
+    @Benchmark
+    public List<String> compressedSummaries() {
+        return this.jdbc.query("select id, title, pages, summary from book where id > ? order by id fetch first " + PAGE + " rows only",
+                (row, i) -> CompressedText.decompress(row.getBytes(4)), nextAfter());
+    }
+
+    @Benchmark
+    public List<String> withoutSummaries() {
+        return this.jdbc.query("select id, title, pages from book where id > ? order by id fetch first " + PAGE + " rows only",
+                (row, i) -> row.getString(2), nextAfter());
+    }
+
+    private long nextAfter() {
+        return this.random.nextInt(BOOKS - PAGE);
+    }
+}
@@ -0,0 +1,75 @@
+package com.workbeattalent.books.bench;
+
+import com.workbeattalent.books.util.UuidV7Generator;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts into a table keyed by random (v4) or time ordered (v7) UUIDs. Every iteration starts from an empty
+ * table and keeps growing it, so the later inserts pay for the primary key index of the earlier ones.
+ * The space used by the table and its index after the last iteration is printed at the end of the trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UuidKeyBenchmark {
+    private static final int BATCH = 1_000;
+
+    @Param({"v4", "v7"})
+    private String version;
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void open() throws SQLException {
+        this.connection = DriverManager.getConnection("jdbc:h2:mem:uuid-key-" + this.version);
+    }
+
+    @Setup(Level.Iteration)
+    public void createTable() throws SQLException {
+        try (final var statement = this.connection.createStatement()) {
+            statement.execute("drop table if exists uuid_key");
+            statement.execute("create table uuid_key (id uuid primary key, payload varchar(64))");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        try (final var statement = this.connection.createStatement();
+             final var result = statement.executeQuery("call disk_space_used('UUID_KEY')")) {
+            result.next();
+            System.out.printf("%n[uuid-key] %s: %d rows use %d bytes%n", this.version, rows(), result.getLong(1));
+        }
+        this.connection.close();
+    }
+
+    // Scores are in rows per second, each invocation inserts one batch
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int[] insertBatch() throws SQLException {
+        try (final var insert = this.connection.prepareStatement("insert into uuid_key (id, payload) values (?, ?)")) {
+            for (int i = 0; i < BATCH; i++) {
+                insert.setObject(1, "v7".equals(this.version) ? UuidV7Generator.next() : UUID.randomUUID());
+                insert.setString(2, "payload");
+                insert.addBatch();
+            }
+            return insert.executeBatch();
+        }
+    }
+
+    private long rows() throws SQLException {
+        try (final var statement = this.connection.createStatement();
+             final var result = statement.executeQuery("select count(*) from uuid_key")) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.workbeattalent.books.bench;
+
+import com.workbeattalent.books.dto.AuthorRequest;
+import com.workbeattalent.books.dto.BookRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean validation of the request bodies, on the valid path and on a path that reports violations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+    private ValidatorFactory factory;
+    private Validator validator;
+    private BookRequest validBook;
+    private BookRequest invalidBook;
+    private AuthorRequest validAuthor;
+    private AuthorRequest invalidAuthor;
+
+    @Setup
+    public void setUp() {
+        this.factory = Validation.buildDefaultValidatorFactory();
+        this.validator = this.factory.getValidator();
+        this.validBook = new BookRequest(null, "Learning Spring Boot 3.0", 248, "Simplify the development", Set.of(UUID.randomUUID()));
+        this.invalidBook = new BookRequest(null, "L", null, null, Set.of());
+        this.validAuthor = new AuthorRequest(null, "Greg L.", "Turnquist", "greg.turnquist@mail.org");
+        this.invalidAuthor = new AuthorRequest(null, "G", null, "not an email");
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BookRequest>> validBookRequest() {
+        return this.validator.validate(this.validBook);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BookRequest>> invalidBookRequest() {
+        return this.validator.validate(this.invalidBook);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<AuthorRequest>> validAuthorRequest() {
+        return this.validator.validate(this.validAuthor);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<AuthorRequest>> invalidAuthorRequest() {
+        return this.validator.validate(this.invalidAuthor);
+    }
+}
@@ -1,8 +1,14 @@
 package com.workbeattalent.books.author;
 
 import com.workbeattalent.books.book.Book;
+import com.workbeattalent.books.configs.cache.CacheConfig;
+import com.workbeattalent.books.util.TextNormalizer;
+import com.workbeattalent.books.util.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -14,19 +20,55 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
+// Authors barely change: kept in the second-level cache, written through on every update
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.AUTHORS_REGION)
+// Authors of a cached collection that were evicted are loaded together, not one by one
+@BatchSize(size = 100)
+@Table(indexes = {
+        @Index(name = "idx_author_firstname_normalized", columnList = "firstname_normalized"),
+        @Index(name = "idx_author_lastname_normalized", columnList = "lastname_normalized")
+})
 public class Author {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(nullable = false)
     private String firstname;
     private String lastname;
 
+    // Case folded, accent stripped copies of the names, maintained on write and used for name lookups
+    @Setter(AccessLevel.NONE)
+    @Column(name = "firstname_normalized")
+    private String firstnameNormalized;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "lastname_normalized")
+    private String lastnameNormalized;
+
     @Column(nullable = false, unique = true)
     private String email;
 
     @Builder.Default
     @ManyToMany(mappedBy = "authors")
     private Set<Book> books = new HashSet<>();
+
+    @Version
+    private Long version;
+
+    /**
+     * Lookup key of a name, null when there is nothing to match on. "Élise " -> "elise"
+     */
+    public static String normalizeName(final String name) {
+        final var key = TextNormalizer.toKey(name);
+        return key.isEmpty() ? null : key;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void normalizeNames() {
+        this.firstnameNormalized = normalizeName(this.firstname);
+        this.lastnameNormalized = normalizeName(this.lastname);
+    }
 }
@@ -0,0 +1,13 @@
+package com.workbeattalent.books.author;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface AuthorMultiLoadRepository {
+    /**
+     * Authors by id, taken from the persistence context and the second-level cache first. Only the missing ones
+     * are selected, in one statement. Unknown ids are skipped.
+     */
+    List<Author> loadAll(Collection<UUID> ids);
+}
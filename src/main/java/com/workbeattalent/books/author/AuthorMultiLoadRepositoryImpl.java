@@ -0,0 +1,30 @@
+package com.workbeattalent.books.author;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class AuthorMultiLoadRepositoryImpl implements AuthorMultiLoadRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Author> loadAll(final Collection<UUID> ids) {
+        if (ids.isEmpty()) return List.of();
+        // Unlike an 'in' query, which always hits the database, a multi load looks the ids up in the caches first.
+        // The second-level cache is only consulted with an explicit cache mode, none is set by default
+        return this.entityManager.unwrap(Session.class)
+                .byMultipleIds(Author.class)
+                .with(CacheMode.NORMAL)
+                .enableSessionCheck(true)
+                .multiLoad(List.copyOf(ids)).stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
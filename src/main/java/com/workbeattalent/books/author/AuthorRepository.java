@@ -1,10 +1,19 @@
 package com.workbeattalent.books.author;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
-public interface AuthorRepository extends JpaRepository<Author, UUID> {
+public interface AuthorRepository extends JpaRepository<Author, UUID>, AuthorMultiLoadRepository {
+    /**
+     * The subset of the given ids that exist, in one primary key lookup and without loading the authors.
+     */
+    @Query("select a.id from Author a where a.id in :ids")
+    Set<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
 }
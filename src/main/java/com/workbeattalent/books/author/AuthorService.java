@@ -4,35 +4,55 @@ import com.workbeattalent.books.dto.AuthorRequest;
 import com.workbeattalent.books.dto.AuthorResponse;
 import com.workbeattalent.books.exceptions.EntityElementNotFoundException;
 import com.workbeattalent.books.util.EntityDtoMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "books.service", histogram = true)
 public class AuthorService {
     private final AuthorRepository repository;
     private final EntityDtoMapper mapper;
 
+    @Transactional(readOnly = true)
     public Set<Author> findAll(final Set<UUID> ids) {
-        return new HashSet<>(this.repository.findAllById(ids));
+        return new HashSet<>(this.repository.loadAll(ids));
     }
 
+    /**
+     * Proxy of an author known to exist, usable in associations without loading it.
+     */
+    public Author reference(final UUID id) {
+        return this.repository.getReferenceById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public Set<UUID> existingIds(final Set<UUID> ids) {
+        if (ids.isEmpty()) return Collections.emptySet();
+        return this.repository.findExistingIds(ids);
+    }
 
+    @Transactional
     public AuthorResponse create(final AuthorRequest request) {
         Author saved = this.repository.save(this.mapper.toAuthor(request));
         return this.mapper.fromAuthor(saved);
     }
 
+    @Transactional(readOnly = true)
     public AuthorResponse findById(UUID authorId) {
         return this.repository.findById(authorId)
                 .map(this.mapper::fromAuthor)
                 .orElseThrow(() -> new EntityElementNotFoundException("Unable to fetch author with ID: " + authorId));
     }
 
+    @Transactional(readOnly = true)
     public Boolean exists(final UUID authorId) {
         return this.repository.existsById(authorId);
     }
@@ -1,8 +1,14 @@
 package com.workbeattalent.books.book;
 
 import com.workbeattalent.books.author.Author;
+import com.workbeattalent.books.configs.cache.CacheConfig;
+import com.workbeattalent.books.util.CompressedTextConverter;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -13,9 +19,12 @@ import java.util.Set;
 @Setter
 @Builder
 @Entity
+@DynamicUpdate
 public class Book {
+    // Pooled sequence: ids are reserved 50 at a time, so inserts can be batched instead of read back one by one
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", sequenceName = "book_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -24,15 +33,27 @@ public class Book {
     @Column(nullable = false)
     private Integer pages;
 
-    @Column(nullable = false, columnDefinition = "TEXT")
+    // The largest column by far: stored compressed, and only read from an entity when accessed. Whole responses
+    // select it with the books through an entity graph, sparse ones only when asked for, see BookProjectionRepository
+    @Basic(fetch = FetchType.LAZY)
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(nullable = false, columnDefinition = "VARBINARY")
     private String summary;
 
+    // Lazy authors of a whole page of books are initialized together, in one query. Author ids of a book are
+    // then kept in the second-level cache, the authors themselves come from their own region
     @Builder.Default
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.BOOK_AUTHORS_REGION)
     @ManyToMany(cascade = {CascadeType.MERGE, CascadeType.PERSIST, CascadeType.REFRESH})
     @JoinTable(
             name = "books_authors",
             joinColumns = {@JoinColumn(name = "book_id")},
-            inverseJoinColumns = {@JoinColumn(name = "author_id")}
+            inverseJoinColumns = {@JoinColumn(name = "author_id")},
+            indexes = {@Index(name = "idx_books_authors_author_id", columnList = "author_id, book_id")}
     )
     private Set<Author> authors = new HashSet<>();
+
+    @Version
+    private Long version;
 }
@@ -0,0 +1,201 @@
+package com.workbeattalent.books.book;
+
+import com.workbeattalent.books.author.Author;
+import com.workbeattalent.books.author.AuthorService;
+import com.workbeattalent.books.configs.cache.CacheConfig;
+import com.workbeattalent.books.dto.BookBulkDeleteRequest;
+import com.workbeattalent.books.dto.BookBulkDeleteResult;
+import com.workbeattalent.books.dto.BookBulkItemResult;
+import com.workbeattalent.books.dto.BookBulkResult;
+import com.workbeattalent.books.dto.BookRequest;
+import com.workbeattalent.books.exceptions.BookManagementInvalidException;
+import com.workbeattalent.books.exceptions.EntityElementNotFoundException;
+import com.workbeattalent.books.search.BookSearchIndex;
+import com.workbeattalent.books.search.TitleAutocomplete;
+import com.workbeattalent.books.util.EntityDtoMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Catalog onboarding and retirement: stores many books in fixed-size transactions, reporting the outcome of
+ * every item so that one bad row does not fail the whole batch, and deletes books with set-based statements
+ * in chunks of the same size.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookBulkService {
+    public static final int CHUNK_SIZE = 500;
+    public static final int MAX_ITEMS = 100_000;
+
+    private final BookRepository repository;
+    private final AuthorService authorService;
+    private final EntityDtoMapper mapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final BookSearchIndex searchIndex;
+    private final TitleAutocomplete titleAutocomplete;
+
+    public BookBulkResult ingest(final List<BookRequest> requests) {
+        if (requests.size() > MAX_ITEMS)
+            throw new BookManagementInvalidException("A bulk request accepts at most " + MAX_ITEMS + " books");
+
+        final var items = new ArrayList<BookBulkItemResult>(requests.size());
+        for (int from = 0; from < requests.size(); from += CHUNK_SIZE) {
+            items.addAll(ingestChunk(requests, from, Math.min(from + CHUNK_SIZE, requests.size())));
+        }
+        return BookBulkResult.of(items);
+    }
+
+    /**
+     * Deletes the listed books, or all books of an author, {@link #CHUNK_SIZE} at a time. Every chunk is
+     * its own transaction, so a large catalog never holds locks on all of its rows at once.
+     * Unknown ids are ignored, the result counts the books actually deleted.
+     */
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, allEntries = true)
+    public BookBulkDeleteResult delete(final BookBulkDeleteRequest request) {
+        if ((request.ids() == null) == (request.authorId() == null))
+            throw new BookManagementInvalidException("Either book ids or an author id is required");
+        if (request.ids() != null) return deleteByIds(request.ids());
+        if (!this.authorService.exists(request.authorId()))
+            throw new EntityElementNotFoundException("No author found with id: " + request.authorId());
+        return deleteByAuthor(request.authorId());
+    }
+
+    private BookBulkDeleteResult deleteByIds(final List<Long> ids) {
+        if (ids.size() > MAX_ITEMS)
+            throw new BookManagementInvalidException("A bulk request accepts at most " + MAX_ITEMS + " books");
+        final var distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        var deleted = 0;
+        for (int from = 0; from < distinctIds.size(); from += CHUNK_SIZE) {
+            deleted += deleteChunk(distinctIds.subList(from, Math.min(from + CHUNK_SIZE, distinctIds.size())));
+        }
+        return new BookBulkDeleteResult(deleted);
+    }
+
+    private BookBulkDeleteResult deleteByAuthor(final UUID authorId) {
+        var deleted = 0;
+        while (true) {
+            // Deleted rows drop out of the selection, so the first chunk is always the next one
+            final var ids = this.repository.findBookIdsByAuthorId(authorId, 0L, CHUNK_SIZE);
+            if (ids.isEmpty()) return new BookBulkDeleteResult(deleted);
+            deleted += deleteChunk(ids);
+        }
+    }
+
+    private int deleteChunk(final List<Long> ids) {
+        final var deleted = this.transactionTemplate.execute(status -> this.repository.deleteAllByIdIn(ids));
+        ids.forEach(bookId -> {
+            this.searchIndex.remove(bookId);
+            this.titleAutocomplete.remove(bookId);
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
+    private List<BookBulkItemResult> ingestChunk(final List<BookRequest> requests, final int from, final int to) {
+        final var chunk = requests.subList(from, to);
+        final var existingAuthorIds = existingAuthorIds(chunk);
+        final var results = new ArrayList<BookBulkItemResult>(to - from);
+        final var accepted = new LinkedHashMap<Integer, BookRequest>();
+        for (int index = from; index < to; index++) {
+            final var error = validate(requests.get(index), existingAuthorIds);
+            if (error == null) accepted.put(index, requests.get(index));
+            else results.add(BookBulkItemResult.failed(index, error));
+        }
+        if (accepted.isEmpty()) return results;
+
+        try {
+            store(accepted).forEach((index, book) -> results.add(BookBulkItemResult.created(index, book.getId())));
+        } catch (DataAccessException | PersistenceException e) {
+            // The chunk was rolled back as a whole: store its items one by one to tell the rejected ones apart
+            log.warn("Bulk chunk [{}, {}) rejected by the database, retrying item by item", from, to, e);
+            accepted.forEach((index, request) -> results.add(storeOne(index, request)));
+        }
+        results.sort(Comparator.comparing(BookBulkItemResult::index));
+        return results;
+    }
+
+    /**
+     * Authors referenced by the chunk that exist, looked up {@link #CHUNK_SIZE} ids at a time to stay under the
+     * bind parameter limits of the database.
+     */
+    private Set<UUID> existingAuthorIds(final List<BookRequest> chunk) {
+        final var authorIds = chunk.stream()
+                .filter(Objects::nonNull)
+                .map(BookRequest::authorIds)
+                .filter(Objects::nonNull)
+                .flatMap(Set::stream)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        final var existing = new HashSet<UUID>();
+        for (int from = 0; from < authorIds.size(); from += CHUNK_SIZE) {
+            existing.addAll(this.authorService.existingIds(Set.copyOf(authorIds.subList(from, Math.min(from + CHUNK_SIZE, authorIds.size())))));
+        }
+        return existing;
+    }
+
+    private BookBulkItemResult storeOne(final int index, final BookRequest request) {
+        try {
+            return BookBulkItemResult.created(index, store(Map.of(index, request)).get(index).getId());
+        } catch (DataAccessException | PersistenceException e) {
+            return BookBulkItemResult.failed(index, "Rejected by the database: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    /**
+     * Inserts the books in one transaction, then adds them to the search structures.
+     */
+    private Map<Integer, Book> store(final Map<Integer, BookRequest> requests) {
+        final var books = this.transactionTemplate.execute(status -> {
+            final var stored = new LinkedHashMap<Integer, Book>();
+            requests.forEach((index, request) -> {
+                final var book = this.mapper.toBook(request);
+                book.setId(null);
+                // References only: the authors are known to exist, there is no need to load them
+                book.setAuthors(request.authorIds().stream()
+                        .map(authorId -> this.entityManager.getReference(Author.class, authorId))
+                        .collect(Collectors.toSet()));
+                this.entityManager.persist(book);
+                stored.put(index, book);
+            });
+            this.entityManager.flush();
+            this.entityManager.clear();
+            return stored;
+        });
+        books.values().forEach(book -> {
+            this.searchIndex.index(book.getId(), book.getTitle(), book.getSummary());
+            this.titleAutocomplete.put(book.getId(), book.getTitle());
+        });
+        return books;
+    }
+
+    private String validate(final BookRequest request, final Set<UUID> existingAuthorIds) {
+        if (request == null) return "Book is required";
+        final var violations = this.validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        // The column is not nullable: catching it here keeps one item from failing its whole chunk
+        if (request.summary() == null) return "Book summary is required";
+        if (request.authorIds().stream().anyMatch(authorId -> !existingAuthorIds.contains(authorId)))
+            return "One or more author not found";
+        return null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.workbeattalent.books.book;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes the whole catalog as NDJSON (one {@code BookResponse} per line) while paging over the book table by id,
+ * so memory use stays flat whatever the catalog size.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookExportService {
+    /**
+     * Books read, written and flushed together.
+     */
+    public static final int FETCH_SIZE = 500;
+
+    private final BookRepository repository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportAll(final OutputStream outputStream) throws IOException {
+        final var out = new BufferedOutputStream(outputStream);
+        var exported = 0L;
+        var after = 0L;
+        while (true) {
+            // Projected rows, not entities: nothing is kept in the persistence context between pages
+            final var books = this.repository.findProjectedPage(BookField.ALL, after, FETCH_SIZE);
+            for (final var book : books) {
+                out.write(this.objectMapper.writeValueAsBytes(book));
+                out.write('\n');
+            }
+            exported += books.size();
+            out.flush();
+            if (books.size() < FETCH_SIZE) break;
+            after = books.getLast().id();
+        }
+        return exported;
+    }
+}
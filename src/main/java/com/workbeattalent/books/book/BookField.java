@@ -0,0 +1,50 @@
+package com.workbeattalent.books.book;
+
+import com.workbeattalent.books.exceptions.BookManagementInvalidException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fields of a {@code BookResponse} a client can ask for with {@code ?fields=}. The id is always returned.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum BookField {
+    ID("id", true),
+    TITLE("title", true),
+    PAGES("pages", true),
+    SUMMARY("summary", true),
+    AUTHORS("authors", false),
+    VERSION("version", true);
+
+    public static final Set<BookField> ALL = Collections.unmodifiableSet(EnumSet.allOf(BookField.class));
+
+    private final String attribute;
+    // False for the authors, which come from the join table rather than a column of the book
+    private final boolean column;
+
+    /**
+     * The requested fields plus the id, or {@link #ALL} when {@code fields} is blank.
+     * "title,authors" -> [ID, TITLE, AUTHORS]
+     */
+    public static Set<BookField> parse(final String fields) {
+        if (fields == null || fields.isBlank()) return ALL;
+        final var selected = EnumSet.of(ID);
+        for (final var name : fields.split(",")) {
+            final var trimmed = name.trim();
+            if (trimmed.isEmpty()) continue;
+            selected.add(Arrays.stream(values())
+                    .filter(field -> field.attribute.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new BookManagementInvalidException("Unknown book field: " + trimmed + ", expected any of "
+                            + Arrays.stream(values()).map(BookField::getAttribute).collect(Collectors.joining(", ")))));
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,31 @@
+package com.workbeattalent.books.book;
+
+import com.workbeattalent.books.dto.BookResponse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Book responses read straight from the columns they need, without loading entities. Sparse responses, and the
+ * export, go through here: only the columns of the requested fields are selected, the summary is inflated only when
+ * asked for, and the authors are only joined when asked for, in a second statement per 500 books. Fields that were
+ * not requested are null in the responses.
+ */
+public interface BookProjectionRepository {
+    /**
+     * Keyset (seek) page: books strictly after the given id, in id order. Served by the primary key index, so the
+     * cost does not grow with the position in the catalog like an OFFSET scan does.
+     */
+    List<BookResponse> findProjectedPage(Set<BookField> fields, Long after, int limit);
+
+    /**
+     * The given books in id order, unknown ids are skipped.
+     */
+    List<BookResponse> findProjectedByIds(Set<BookField> fields, Collection<Long> ids);
+
+    /**
+     * Books whose title contains the keyword, ignoring case, ordered by the first firstname of their authors.
+     */
+    List<BookResponse> findProjectedByTitleContaining(Set<BookField> fields, String keyword);
+}
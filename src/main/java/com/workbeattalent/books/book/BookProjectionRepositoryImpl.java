@@ -0,0 +1,107 @@
+package com.workbeattalent.books.book;
+
+import com.workbeattalent.books.dto.AuthorSummary;
+import com.workbeattalent.books.dto.BookResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+class BookProjectionRepositoryImpl implements BookProjectionRepository {
+    private static final char LIKE_ESCAPE = '!';
+    // Bounds the bind parameters of an IN list, whatever the number of listed books
+    static final int IDS_PER_STATEMENT = 500;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<BookResponse> findProjectedPage(final Set<BookField> fields, final Long after, final int limit) {
+        return project(fields, "where b.id > :after order by b.id", Map.of("after", after), limit);
+    }
+
+    @Override
+    public List<BookResponse> findProjectedByIds(final Set<BookField> fields, final Collection<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        return project(fields, "where b.id in :ids order by b.id", Map.of("ids", ids), null);
+    }
+
+    @Override
+    public List<BookResponse> findProjectedByTitleContaining(final Set<BookField> fields, final String keyword) {
+        return project(fields, "where upper(b.title) like :pattern escape '" + LIKE_ESCAPE + "' "
+                        + "order by (select min(a.firstname) from b.authors a), b.id",
+                Map.of("pattern", "%" + escapeLike(keyword.toUpperCase(Locale.ROOT)) + "%"), null);
+    }
+
+    private List<BookResponse> project(final Set<BookField> fields, final String clauses, final Map<String, ?> parameters,
+                                       final Integer limit) {
+        final var columns = fields.stream().filter(BookField::isColumn).toList();
+        final var query = this.entityManager.createQuery(select(columns) + " " + clauses, Tuple.class);
+        parameters.forEach(query::setParameter);
+        if (limit != null) query.setMaxResults(limit);
+        return toResponses(fields, columns, query.getResultList());
+    }
+
+    // Attribute names come from BookField only, never from the request
+    private static String select(final List<BookField> columns) {
+        return columns.stream()
+                .map(field -> "b." + field.getAttribute())
+                .collect(Collectors.joining(", ", "select ", " from Book b"));
+    }
+
+    private List<BookResponse> toResponses(final Set<BookField> fields, final List<BookField> columns, final List<Tuple> rows) {
+        final var authors = fields.contains(BookField.AUTHORS)
+                ? authorsOf(rows.stream().map(row -> value(row, columns, BookField.ID, Long.class)).toList())
+                : null;
+        return rows.stream()
+                .map(row -> {
+                    final var id = value(row, columns, BookField.ID, Long.class);
+                    return new BookResponse(
+                            id,
+                            value(row, columns, BookField.TITLE, String.class),
+                            value(row, columns, BookField.PAGES, Integer.class),
+                            value(row, columns, BookField.SUMMARY, String.class),
+                            authors == null ? null : authors.getOrDefault(id, Set.of()),
+                            value(row, columns, BookField.VERSION, Long.class));
+                })
+                .toList();
+    }
+
+    private static <T> T value(final Tuple row, final List<BookField> columns, final BookField field, final Class<T> type) {
+        final var index = columns.indexOf(field);
+        return index < 0 ? null : row.get(index, type);
+    }
+
+    /**
+     * Author summaries of the given books, over the join table and the author columns it needs, in one statement
+     * per {@link #IDS_PER_STATEMENT} books.
+     */
+    private Map<Long, Set<AuthorSummary>> authorsOf(final List<Long> bookIds) {
+        final var authors = new HashMap<Long, Set<AuthorSummary>>();
+        for (int from = 0; from < bookIds.size(); from += IDS_PER_STATEMENT) {
+            this.entityManager.createQuery("select b.id, a.id, a.firstname, a.lastname from Book b join b.authors a where b.id in :ids", Object[].class)
+                    .setParameter("ids", bookIds.subList(from, Math.min(from + IDS_PER_STATEMENT, bookIds.size())))
+                    .getResultList()
+                    .forEach(row -> authors.computeIfAbsent((Long) row[0], id -> new HashSet<>())
+                            .add(new AuthorSummary((UUID) row[1], (String) row[2], (String) row[3])));
+        }
+        authors.replaceAll((bookId, summaries) -> Collections.unmodifiableSet(summaries));
+        return authors;
+    }
+
+    private static String escapeLike(final String keyword) {
+        return keyword.replace(String.valueOf(LIKE_ESCAPE), "" + LIKE_ESCAPE + LIKE_ESCAPE)
+                .replace("%", LIKE_ESCAPE + "%")
+                .replace("_", LIKE_ESCAPE + "_");
+    }
+}
@@ -1,14 +1,103 @@
 package com.workbeattalent.books.book;
 
+import com.workbeattalent.books.author.Author;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookProjectionRepository {
+    /**
+     * Keyset (seek) page: rows strictly after the given id, in id order. Served by the primary key
+     * index, so the cost does not grow with the position in the catalog like an OFFSET scan does.
+     * The lazy summary is selected with the books, their authors are left to the batch and the second-level cache.
+     */
+    @EntityGraph(attributePaths = {"summary"})
+    List<Book> findByIdGreaterThanOrderByIdAsc(@NonNull Long after, Limit limit);
+
+    /**
+     * The book with its lazy summary in the same select, for the paths that map or index the whole book.
+     */
+    @EntityGraph(attributePaths = {"summary"})
+    Optional<Book> findWithSummaryById(@NonNull Long id);
+
+    /**
+     * Only the version column, for conditional requests: the book itself is neither loaded nor mapped.
+     */
+    @Query("select b.version from Book b where b.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Deletes one book without loading it, its {@code books_authors} rows first. Returns the number of removed
+     * books, 0 when there is no such book. Requires a transaction.
+     */
+    @Modifying
+    @Query("delete from Book b where b.id = :id")
+    int deleteBookById(@Param("id") Long id);
+
+    /**
+     * Set-based delete returning the number of removed books. Hibernate first deletes the matching
+     * {@code books_authors} rows in one statement, the books are never loaded. Requires a transaction.
+     */
+    @Modifying
+    @Query("delete from Book b where b.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset page of the ids of an author's books, read from the join table alone: the
+     * {@code (author_id, book_id)} index serves both the filter and the order.
+     */
+    @Query(value = "select ba.book_id from books_authors ba where ba.author_id = :authorId and ba.book_id > :after order by ba.book_id limit :limit",
+            nativeQuery = true)
+    List<Long> findBookIdsByAuthorId(@Param("authorId") UUID authorId, @Param("after") Long after, @Param("limit") Integer limit);
+
+    /**
+     * Number of books of an author, counted on the join table index without touching the book rows.
+     */
+    @Query(value = "select count(*) from books_authors ba where ba.author_id = :authorId", nativeQuery = true)
+    long countBooksByAuthorId(@Param("authorId") UUID authorId);
+
+    @EntityGraph(attributePaths = {"summary", "authors"})
+    List<Book> findByIdInOrderByIdAsc(@NonNull Collection<Long> ids);
+
+    /**
+     * Unbounded listings fetch the summaries and the authors in the same statement, list endpoints map all of them.
+     */
+    @Override
+    @NonNull
+    @EntityGraph(attributePaths = {"summary", "authors"})
+    List<Book> findAll();
+
+    @EntityGraph(attributePaths = {"summary", "authors"})
     List<Book> findByTitleContainingIgnoreCaseOrderByAuthors_FirstnameAsc(@NonNull String title);
 
-    List<Book> findByAuthors_FirstnameIgnoreCaseOrAuthors_LastnameIgnoreCase(@NonNull String firstname, String lastname);
+    /**
+     * Books of the authors whose normalized firstname or lastname matches, see {@link Author#normalizeName(String)}.
+     * Both comparisons are served by an index on the author table, then by the author index of the join table.
+     */
+    @EntityGraph(attributePaths = {"summary", "authors"})
+    @Query("select distinct b from Book b join b.authors a where a.firstnameNormalized = :firstname or a.lastnameNormalized = :lastname")
+    List<Book> findByAuthorNormalizedName(@NonNull @Param("firstname") String firstname, @Param("lastname") String lastname);
+
+    /**
+     * Forward-only cursor over the searchable text of the whole catalog, without loading entities. Must be consumed
+     * inside a transaction and closed.
+     */
+    @QueryHints(value = {@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500")})
+    @Query("select new com.workbeattalent.books.book.BookText(b.id, b.title, b.summary) from Book b order by b.id")
+    Stream<BookText> streamAllTexts();
 }
@@ -1,24 +1,57 @@
 package com.workbeattalent.books.book;
 
+import com.workbeattalent.books.author.Author;
 import com.workbeattalent.books.author.AuthorService;
+import com.workbeattalent.books.configs.cache.CacheConfig;
 import com.workbeattalent.books.dto.AuthorRequest;
+import com.workbeattalent.books.dto.BookPage;
+import com.workbeattalent.books.dto.BookPatchRequest;
 import com.workbeattalent.books.dto.BookRequest;
 import com.workbeattalent.books.dto.BookResponse;
+import com.workbeattalent.books.dto.BookSearchResult;
+import com.workbeattalent.books.dto.TitleSuggestion;
 import com.workbeattalent.books.exceptions.BookManagementInvalidException;
+import com.workbeattalent.books.exceptions.BookVersionMismatchException;
 import com.workbeattalent.books.exceptions.EntityElementNotFoundException;
+import com.workbeattalent.books.search.BookSearchIndex;
+import com.workbeattalent.books.search.SearchHit;
+import com.workbeattalent.books.search.TitleAutocomplete;
 import com.workbeattalent.books.util.EntityDtoMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+// One timer per method, told apart by the 'class' and 'method' tags
+@Timed(value = "books.service", histogram = true)
 public class BookService {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int DEFAULT_SUGGESTIONS = 10;
+    public static final int MAX_SUGGESTIONS = 50;
+
     private final BookRepository repository;
     private final AuthorService authorService;
     private final EntityDtoMapper mapper;
+    private final BookSearchIndex searchIndex;
+    private final TitleAutocomplete titleAutocomplete;
+    private final CacheManager cacheManager;
 
+    @Transactional
     public BookResponse store(final BookRequest bookRequest) {
         final var authors = this.authorService.findAll(bookRequest.authorIds());
         if (authors.size() != bookRequest.authorIds().size()) {
@@ -27,49 +60,191 @@ public class BookService {
         final var book = this.mapper.toBook(bookRequest);
         book.setAuthors(authors);
         final var savedBook = this.repository.save(book);
+        indexAfterCommit(savedBook);
         return this.mapper.fromBook(savedBook);
     }
 
 
+    /**
+     * Cursor based page of books ordered by id. {@code after} is the {@code nextCursor} of the previous page
+     * (null for the first page), {@code limit} is capped to {@link #MAX_PAGE_SIZE}.
+     */
+    @Transactional(readOnly = true)
+    public BookPage findPage(final Long after, final Integer limit) {
+        return findPage(after, limit, null);
+    }
+
+    /**
+     * Page of books with only the requested {@code fields} (comma separated {@link BookField} names), all of
+     * them when blank.
+     */
+    @Transactional(readOnly = true)
+    public BookPage findPage(final Long after, final Integer limit, final String fields) {
+        final var size = pageSize(limit);
+        final var selected = BookField.parse(fields);
+        final var from = after == null ? 0L : after;
+        // Fetch one extra row to know whether a next page exists without a count query
+        if (whole(selected)) {
+            // The extra book is only counted, not mapped
+            final var books = this.repository.findByIdGreaterThanOrderByIdAsc(from, Limit.of(size + 1));
+            final var content = books.stream().limit(size).map(this.mapper::fromBook).toList();
+            return new BookPage(content, content.size(), books.size() > size ? content.getLast().id() : null, null);
+        }
+        final var books = this.repository.findProjectedPage(selected, from, size + 1);
+        final var content = books.stream().limit(size).toList();
+        final var nextCursor = books.size() > size ? content.getLast().id() : null;
+        return new BookPage(content, content.size(), nextCursor, null);
+    }
+
+    /**
+     * Keyset page of an author's books. Ids are paged on the join table, then only that page of books is
+     * loaded, with its authors, in one statement. The author's own book collection is never initialized.
+     */
+    @Transactional(readOnly = true)
+    public BookPage findPageByAuthor(final UUID authorId, final Long after, final Integer limit) {
+        final var size = pageSize(limit);
+        final var total = this.repository.countBooksByAuthorId(authorId);
+        // Existence only needs checking when the author has no book
+        if (total == 0 && !this.authorService.exists(authorId))
+            throw new EntityElementNotFoundException("Unable to fetch author with ID: " + authorId);
+        final var ids = total == 0
+                ? List.<Long>of()
+                : this.repository.findBookIdsByAuthorId(authorId, after == null ? 0L : after, size + 1);
+        final var pageIds = ids.stream().limit(size).toList();
+        final var content = pageIds.isEmpty()
+                ? List.<BookResponse>of()
+                : this.repository.findByIdInOrderByIdAsc(pageIds).stream()
+                .map(this.mapper::fromBook)
+                .toList();
+        final var nextCursor = ids.size() > size ? pageIds.getLast() : null;
+        return new BookPage(content, content.size(), nextCursor, total);
+    }
+
+    /**
+     * Unbounded listing of the whole catalog, kept for clients that explicitly opt in.
+     * Prefer {@link #findPage(Long, Integer)}.
+     */
+    @Transactional(readOnly = true)
     public List<BookResponse> findAll() {
         return this.repository.findAll().stream()
                 .map(this.mapper::fromBook)
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<BookResponse> findByTitleContaining(final String keyword) {
-        return repository.findByTitleContainingIgnoreCaseOrderByAuthors_FirstnameAsc(keyword).stream()
-                .map(this.mapper::fromBook)
-                .toList();
+        return findByTitleContaining(keyword, null);
     }
 
+    @Transactional(readOnly = true)
+    public List<BookResponse> findByTitleContaining(final String keyword, final String fields) {
+        final var selected = BookField.parse(fields);
+        if (whole(selected)) {
+            return this.repository.findByTitleContainingIgnoreCaseOrderByAuthors_FirstnameAsc(keyword).stream()
+                    .map(this.mapper::fromBook)
+                    .toList();
+        }
+        return this.repository.findProjectedByTitleContaining(selected, keyword);
+    }
+
+    /**
+     * Full-text search over titles and summaries, best matches first. {@code page} is zero based.
+     */
+    @Transactional(readOnly = true)
+    public BookSearchResult search(final String query, final Integer page, final Integer size) {
+        return search(query, page, size, null);
+    }
+
+    @Transactional(readOnly = true)
+    public BookSearchResult search(final String query, final Integer page, final Integer size, final String fields) {
+        final var selected = BookField.parse(fields);
+        final var pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0) throw new BookManagementInvalidException("Page number should not be negative");
+        final var pageSize = pageSize(size);
+        if (pageNumber > Integer.MAX_VALUE / pageSize) throw new BookManagementInvalidException("Page number is too large");
+        final var hits = this.searchIndex.search(query, pageNumber * pageSize, pageSize);
+        final var ids = hits.hits().stream().map(SearchHit::bookId).toList();
+        final var content = inOrder(ids, selected);
+        return new BookSearchResult(content, pageNumber, content.size(), hits.total());
+    }
+
+    /**
+     * Titles starting with the typed prefix, served from memory without touching the database.
+     */
+    public List<TitleSuggestion> suggestTitles(final String prefix, final Integer limit) {
+        if (limit != null && limit < 1) throw new BookManagementInvalidException("Suggestion limit should be at least 01");
+        return this.titleAutocomplete.suggest(prefix, limit == null ? DEFAULT_SUGGESTIONS : Math.min(limit, MAX_SUGGESTIONS));
+    }
+
+    @Transactional(readOnly = true)
     public List<BookResponse> findByAuthorName(final AuthorRequest request) {
         if (!this.authorService.exists(request.id()))
             throw new BookManagementInvalidException("Author not found. So, unable to retrieve related books");
 
-        return repository.findByAuthors_FirstnameIgnoreCaseOrAuthors_LastnameIgnoreCase(request.firstname(), request.lastname()).stream()
+        return this.repository.findByAuthorNormalizedName(Author.normalizeName(request.firstname()), Author.normalizeName(request.lastname())).stream()
                 .map(this.mapper::fromBook)
                 .toList();
     }
 
+    /**
+     * The whole book, served from the cache only while the cached copy is at the stored version: a read that
+     * loaded the book before an update committed may cache it after the eviction, the next read replaces it.
+     */
+    @Transactional(readOnly = true)
     public BookResponse findById(final Long bookId) {
-        return this.repository.findById(bookId)
-                .map(this.mapper::fromBook)
+        final var version = findVersion(bookId);
+        final var cache = this.cacheManager.getCache(CacheConfig.BOOKS);
+        final var cached = cache.get(bookId, BookResponse.class);
+        if (cached != null && version.equals(cached.version())) return cached;
+        final var book = findById(bookId, null);
+        cache.put(bookId, book);
+        return book;
+    }
+
+    /**
+     * The book with only the requested {@code fields} (all of them when blank), read without going through the cache.
+     */
+    @Transactional(readOnly = true)
+    public BookResponse findById(final Long bookId, final String fields) {
+        final var selected = BookField.parse(fields);
+        final var book = whole(selected)
+                ? this.repository.findWithSummaryById(bookId).map(this.mapper::fromBook)
+                : this.repository.findProjectedByIds(selected, List.of(bookId)).stream().findFirst();
+        return book.orElseThrow(() -> new EntityElementNotFoundException("No Book found with id: " + bookId));
+    }
+
+    @Transactional(readOnly = true)
+    public Long findVersion(final Long bookId) {
+        return this.repository.findVersionById(bookId)
                 .orElseThrow(() -> new EntityElementNotFoundException("No Book found with id: " + bookId));
     }
 
+    /**
+     * Deletes the book and its join rows by id, without loading it: a missing book is told by the affected
+     * row count.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#bookId")
     public Long delete(final Long bookId) {
-        return this.repository.findById(bookId)
-                .map(book -> {
-                    this.repository.delete(book);
-                    return book.getId();
-                })
-                .orElseThrow(() -> new EntityElementNotFoundException("Unable to delete book with id: " + bookId));
+        if (this.repository.deleteBookById(bookId) == 0)
+            throw new EntityElementNotFoundException("Unable to delete book with id: " + bookId);
+        afterCommit(() -> {
+            this.searchIndex.remove(bookId);
+            this.titleAutocomplete.remove(bookId);
+        });
+        return bookId;
     }
 
-    public BookResponse update(final Long bookId, final BookRequest newUpdates) {
+    /**
+     * Replaces the book. When {@code expectedVersion} is given (from an If-Match header) the update only
+     * applies if the stored book is still at that version.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#bookId")
+    public BookResponse update(final Long bookId, final BookRequest newUpdates, final Long expectedVersion) {
         final var optionalBook = this.repository.findById(bookId);
         if (optionalBook.isPresent()) {
+            checkVersion(optionalBook.get(), expectedVersion);
             final var newAuthors = this.authorService.findAll(newUpdates.authorIds());
             if (newAuthors.size() == newUpdates.authorIds().size()) {
                 final var book = optionalBook.get();
@@ -77,11 +252,102 @@ public class BookService {
                 book.setPages(newUpdates.pages());
                 book.setSummary(newUpdates.summary());
                 book.setAuthors(newAuthors);
-                Book saved = this.repository.save(book);
+                // Flush now so the response carries the incremented version
+                Book saved = this.repository.saveAndFlush(book);
+                indexAfterCommit(saved);
                 return this.mapper.fromBook(saved);
             }
             throw new BookManagementInvalidException("One or more author(s) not found for update");
         }
         throw new EntityElementNotFoundException("Unable to find book with ID: " + bookId);
     }
+
+    /**
+     * Applies only the supplied fields. Authors are diffed against the current ones so that only the
+     * removed and added join rows are written, and only the added authors are checked for existence.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#bookId")
+    public BookResponse patch(final Long bookId, final BookPatchRequest patch, final Long expectedVersion) {
+        // The summary is mapped into the response and re-indexed with a new title: select it with the book
+        final var book = this.repository.findWithSummaryById(bookId)
+                .orElseThrow(() -> new EntityElementNotFoundException("Unable to find book with ID: " + bookId));
+        checkVersion(book, expectedVersion);
+        if (patch.authorIds() != null) applyAuthors(book, patch.authorIds());
+        if (patch.title() != null) book.setTitle(patch.title());
+        if (patch.pages() != null) book.setPages(patch.pages());
+        if (patch.summary() != null) book.setSummary(patch.summary());
+        // Flush now so the response carries the incremented version
+        this.repository.flush();
+        if (patch.title() != null || patch.summary() != null) {
+            indexAfterCommit(book);
+        }
+        return this.mapper.fromBook(book);
+    }
+
+    private void applyAuthors(final Book book, final Set<UUID> authorIds) {
+        final var currentIds = book.getAuthors().stream()
+                .map(Author::getId)
+                .collect(Collectors.toSet());
+        final var added = authorIds.stream()
+                .filter(authorId -> !currentIds.contains(authorId))
+                .collect(Collectors.toSet());
+        if (this.authorService.existingIds(added).size() != added.size())
+            throw new BookManagementInvalidException("One or more author(s) not found for update");
+        // Mutate the managed collection in place: replacing it would make Hibernate rewrite every join row
+        book.getAuthors().removeIf(author -> !authorIds.contains(author.getId()));
+        added.forEach(authorId -> book.getAuthors().add(this.authorService.reference(authorId)));
+    }
+
+    // Responses of the given books, in the order of the ids
+    private List<BookResponse> inOrder(final List<Long> ids, final Set<BookField> fields) {
+        if (ids.isEmpty()) return List.of();
+        final var rank = new HashMap<Long, Integer>();
+        for (int i = 0; i < ids.size(); i++) rank.put(ids.get(i), i);
+        final var books = whole(fields)
+                ? this.repository.findByIdInOrderByIdAsc(ids).stream().map(this.mapper::fromBook)
+                : this.repository.findProjectedByIds(fields, ids).stream();
+        return books.sorted(Comparator.comparing((BookResponse book) -> rank.get(book.id()))).toList();
+    }
+
+    // Whole responses map entities: the summary is selected with the books, the authors come from the join fetch or
+    // the second-level cache. Projections are left to sparse responses, which select only their columns
+    private static boolean whole(final Set<BookField> fields) {
+        return fields.equals(BookField.ALL);
+    }
+
+    private void indexAfterCommit(final Book book) {
+        final var id = book.getId();
+        final var title = book.getTitle();
+        final var summary = book.getSummary();
+        afterCommit(() -> {
+            this.searchIndex.index(id, title, summary);
+            this.titleAutocomplete.put(id, title);
+        });
+    }
+
+    // The search structures only see committed books: a rollback, or a version conflict at flush, leaves them as they were
+    private static void afterCommit(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static void checkVersion(final Book book, final Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(book.getVersion()))
+            throw new BookVersionMismatchException("Book with ID: " + book.getId() + " has been modified, current version is " + book.getVersion());
+    }
+
+    private static int pageSize(final Integer limit) {
+        if (limit == null) return DEFAULT_PAGE_SIZE;
+        if (limit < 1) throw new BookManagementInvalidException("Page limit should be at least 01");
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
 }
@@ -0,0 +1,11 @@
+package com.workbeattalent.books.book;
+
+/**
+ * The searchable text of a book, see {@link BookRepository#streamAllTexts()}.
+ */
+public record BookText(
+        Long id,
+        String title,
+        String summary
+) {
+}
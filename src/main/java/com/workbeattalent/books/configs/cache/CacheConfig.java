@@ -0,0 +1,48 @@
+package com.workbeattalent.books.configs.cache;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * In-process Caffeine caches (W-TinyLFU eviction). Size and TTL are set by {@code spring.cache.caffeine.spec},
+ * hit/miss/eviction counters are published as {@code cache.*} metrics through actuator.
+ * <p>
+ * Caches are transaction aware: a put or an evict made inside a transaction only applies once it commits. An
+ * evict running when {@code @CacheEvict} returns would let a concurrent read cache the row as it was before the commit.
+ * <p>
+ * Hibernate's second-level cache runs on Caffeine as well, through JCache. Its regions are bounded in
+ * {@code application.conf}, and their hits and misses are published as {@code hibernate.second.level.cache.*}
+ * metrics.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+    /**
+     * Mapped {@code BookResponse} by book id.
+     */
+    public static final String BOOKS = "books";
+    /**
+     * Hibernate second-level cache region of the {@code Author} entities.
+     */
+    public static final String AUTHORS_REGION = "authors";
+    /**
+     * Hibernate second-level cache region of the {@code Book.authors} collections: author ids by book id.
+     */
+    public static final String BOOK_AUTHORS_REGION = "book-authors";
+
+    @Bean
+    CacheManager cacheManager(final CacheProperties properties) {
+        final var cacheManager = new CaffeineCacheManager();
+        final var spec = properties.getCaffeine().getSpec();
+        if (spec != null) cacheManager.setCacheSpecification(spec);
+        if (!properties.getCacheNames().isEmpty()) cacheManager.setCacheNames(properties.getCacheNames());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,51 @@
+package com.workbeattalent.books.configs.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write split, active with the {@code replica} profile. Read-only transactions
+ * ({@code @Transactional(readOnly = true)}) get their connection from the replica pool, everything else from
+ * the primary pool ({@code spring.datasource.*}). The replica pool is set with {@code books.datasource.replica.*}.
+ * <p>
+ * The routing relies on the connection being fetched lazily: Spring marks the transaction's connection read-only
+ * before its first statement, and only then does {@link LazyConnectionDataSourceProxy} pick the pool.
+ */
+@Configuration
+@Profile("replica")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(final DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("books.datasource.replica")
+    HikariDataSource replicaDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Named {@code dataSource} so that it stays the one JPA, JDBC and the SQL monitoring proxy use.
+     */
+    @Bean
+    @Primary
+    DataSource dataSource(final @Qualifier("primaryDataSource") DataSource primary,
+                          final @Qualifier("replicaDataSource") DataSource replica) {
+        final var dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(replica);
+        return dataSource;
+    }
+}
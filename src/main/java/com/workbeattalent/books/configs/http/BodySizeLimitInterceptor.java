@@ -0,0 +1,28 @@
+package com.workbeattalent.books.configs.http;
+
+import com.workbeattalent.books.exceptions.BookManagementInvalidException;
+import com.workbeattalent.books.exceptions.RequestBodyTooLargeException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Refuses a body from its {@code Content-Length} alone, before a byte of it is read. The servlet container
+ * never reads past the declared length, so a body of unknown length, sent in chunks, is refused as well.
+ */
+@RequiredArgsConstructor
+class BodySizeLimitInterceptor implements HandlerInterceptor {
+    private final DataSize maxBodySize;
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+        final var length = request.getContentLengthLong();
+        if (length < 0)
+            throw new BookManagementInvalidException("A bulk request must declare its Content-Length");
+        if (length > this.maxBodySize.toBytes())
+            throw new RequestBodyTooLargeException("A bulk request body is limited to " + this.maxBodySize.toBytes() + " bytes");
+        return true;
+    }
+}
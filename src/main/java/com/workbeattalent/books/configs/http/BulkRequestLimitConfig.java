@@ -0,0 +1,26 @@
+package com.workbeattalent.books.configs.http;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Bounds the bodies of the bulk endpoints before they are bound: the item limit of {@code BookBulkService} is
+ * only checked once Jackson has built the whole list in memory. The limit is {@code books.bulk.max-body-size}.
+ */
+@Configuration
+public class BulkRequestLimitConfig implements WebMvcConfigurer {
+    private final DataSize maxBodySize;
+
+    BulkRequestLimitConfig(final @Value("${books.bulk.max-body-size:64MB}") DataSize maxBodySize) {
+        this.maxBodySize = maxBodySize;
+    }
+
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        registry.addInterceptor(new BodySizeLimitInterceptor(this.maxBodySize))
+                .addPathPatterns("/api/v1/books/bulk", "/api/v1/books/bulk/**");
+    }
+}
@@ -0,0 +1,75 @@
+package com.workbeattalent.books.configs.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the statements and database time of every HTTP request, publishes them per endpoint and logs the
+ * requests going over budget with their SQL shapes: many executions of the same shape is an N+1.
+ * Statements run on another thread, such as those of a streamed export, are not attributed to the request.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class SqlBudgetFilter extends OncePerRequestFilter {
+    private final MeterRegistry registry;
+    private final int statementBudget;
+    private final Duration durationBudget;
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        try (final var recording = SqlRecorder.startForThread()) {
+            filterChain.doFilter(request, response);
+            report(request, recording);
+        }
+    }
+
+    private void report(final HttpServletRequest request, final SqlRecording recording) {
+        final var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        final var uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder("books.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .publishPercentileHistogram()
+                .register(this.registry)
+                .record(recording.statements());
+        Timer.builder("books.sql.time")
+                .description("Time spent executing SQL per HTTP request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .publishPercentileHistogram()
+                .register(this.registry)
+                .record(recording.millis(), TimeUnit.MILLISECONDS);
+
+        final var overStatements = recording.statements() > this.statementBudget;
+        final var overDuration = recording.millis() > this.durationBudget.toMillis();
+        if (overStatements) exceeded(request, uri, "statements");
+        if (overDuration) exceeded(request, uri, "duration");
+        if (overStatements || overDuration) {
+            log.warn("SQL budget exceeded by {} {}: {} statements in {} ms (budget {} statements, {} ms){}",
+                    request.getMethod(), uri, recording.statements(), recording.millis(),
+                    this.statementBudget, this.durationBudget.toMillis(), recording.describe());
+        }
+    }
+
+    private void exceeded(final HttpServletRequest request, final String uri, final String budget) {
+        Counter.builder("books.sql.budget.exceeded")
+                .description("HTTP requests over their SQL budget")
+                .tags("method", request.getMethod(), "uri", uri, "budget", budget)
+                .register(this.registry)
+                .increment();
+    }
+}
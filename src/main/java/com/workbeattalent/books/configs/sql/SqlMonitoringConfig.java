@@ -0,0 +1,48 @@
+package com.workbeattalent.books.configs.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Runtime N+1 and slow query detection. The application datasource is wrapped in a datasource-proxy that
+ * reports every execution to {@link SqlRecorder}; {@link SqlBudgetFilter} turns that into per request budgets
+ * and metrics. Budgets are set with {@code books.sql.*}.
+ */
+@Configuration
+public class SqlMonitoringConfig {
+
+    @Bean
+    static BeanPostProcessor sqlMonitoringDataSourcePostProcessor(final @Value("${books.sql.slow-query:200ms}") Duration slowQuery) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource)
+                    return bean;
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new SqlStatementListener(slowQuery))
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilter(final MeterRegistry registry,
+                                                           final @Value("${books.sql.budget.statements:10}") int statements,
+                                                           final @Value("${books.sql.budget.duration:500ms}") Duration duration) {
+        final var registration = new FilterRegistrationBean<>(new SqlBudgetFilter(registry, statements, duration));
+        // Outermost after the observation filter, so that everything the request does is counted
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,71 @@
+package com.workbeattalent.books.configs.sql;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.regex.Pattern;
+
+/**
+ * Dispatches every statement seen by the datasource proxy to the open recordings: those of the current
+ * thread (one per HTTP request, see {@link SqlBudgetFilter}) and the global ones, which see every thread
+ * and are meant for tests.
+ */
+public final class SqlRecorder {
+    private static final ThreadLocal<Deque<SqlRecording>> THREAD_RECORDINGS = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final Set<SqlRecording> GLOBAL_RECORDINGS = new CopyOnWriteArraySet<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlRecorder() {
+    }
+
+    /**
+     * Records the statements of the current thread until closed. Recordings can be nested.
+     */
+    public static SqlRecording startForThread() {
+        final var recording = new SqlRecording(false);
+        THREAD_RECORDINGS.get().push(recording);
+        return recording;
+    }
+
+    /**
+     * Records the statements of every thread until closed, including asynchronous request processing.
+     */
+    public static SqlRecording startGlobal() {
+        final var recording = new SqlRecording(true);
+        GLOBAL_RECORDINGS.add(recording);
+        return recording;
+    }
+
+    static void record(final String sql, final long elapsedMillis) {
+        final var recordings = THREAD_RECORDINGS.get();
+        if (recordings.isEmpty() && GLOBAL_RECORDINGS.isEmpty()) return;
+        final var shape = shape(sql);
+        recordings.forEach(recording -> recording.add(shape, elapsedMillis));
+        GLOBAL_RECORDINGS.forEach(recording -> recording.add(shape, elapsedMillis));
+    }
+
+    static void stop(final SqlRecording recording, final boolean global) {
+        if (global) {
+            GLOBAL_RECORDINGS.remove(recording);
+            return;
+        }
+        final var recordings = THREAD_RECORDINGS.get();
+        recordings.remove(recording);
+        if (recordings.isEmpty()) THREAD_RECORDINGS.remove();
+    }
+
+    /**
+     * "select * from book where id in (1, 2, 3) and title = 'x'" -> "select * from book where id in (?) and title = ?"
+     */
+    static String shape(final String sql) {
+        var shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,60 @@
+package com.workbeattalent.books.configs.sql;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Statements executed while a recording is open: count, time spent in the database and count per SQL shape
+ * (the statement with its literals replaced by {@code ?}). Obtained from {@link SqlRecorder}.
+ */
+public final class SqlRecording implements AutoCloseable {
+    private final boolean global;
+    private final Map<String, Integer> shapes = new LinkedHashMap<>();
+    private int statements;
+    private long millis;
+
+    SqlRecording(final boolean global) {
+        this.global = global;
+    }
+
+    synchronized void add(final String shape, final long elapsedMillis) {
+        this.statements++;
+        this.millis += elapsedMillis;
+        this.shapes.merge(shape, 1, Integer::sum);
+    }
+
+    /**
+     * Database round trips: a JDBC batch counts once.
+     */
+    public synchronized int statements() {
+        return this.statements;
+    }
+
+    public synchronized long millis() {
+        return this.millis;
+    }
+
+    /**
+     * Number of executions of each distinct statement, in order of first execution.
+     */
+    public synchronized Map<String, Integer> shapes() {
+        return Map.copyOf(this.shapes);
+    }
+
+    /**
+     * The most executed shapes first, one per line, for logs and assertion messages.
+     */
+    public synchronized String describe() {
+        final var description = new StringBuilder();
+        this.shapes.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(shape -> description.append(System.lineSeparator())
+                        .append("  ").append(shape.getValue()).append(" x ").append(shape.getKey()));
+        return description.toString();
+    }
+
+    @Override
+    public void close() {
+        SqlRecorder.stop(this, this.global);
+    }
+}
@@ -0,0 +1,33 @@
+package com.workbeattalent.books.configs.sql;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Called by the datasource proxy after every execution: feeds {@link SqlRecorder} and logs slow statements.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class SqlStatementListener implements QueryExecutionListener {
+    private final Duration slowQuery;
+
+    @Override
+    public void beforeQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+        final var sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        SqlRecorder.record(sql, execInfo.getElapsedTime());
+        if (execInfo.getElapsedTime() >= this.slowQuery.toMillis())
+            log.warn("Slow SQL ({} ms{}): {}", execInfo.getElapsedTime(),
+                    execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "", SqlRecorder.shape(sql));
+    }
+}
@@ -0,0 +1,193 @@
+package com.workbeattalent.books.datagen;
+
+import com.workbeattalent.books.author.Author;
+import com.workbeattalent.books.util.CompressedText;
+import com.workbeattalent.books.util.TextNormalizer;
+import com.workbeattalent.books.util.UuidV7Generator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic synthetic catalog, loaded straight into the {@code author}, {@code book} and {@code books_authors}
+ * tables with batched JDBC, one transaction per {@link #CHUNK_SIZE} rows.
+ * <p>
+ * Shapes follow a real catalog rather than uniform noise: titles are mostly short with a long tail, summaries
+ * have a log-normal word count, most books have a single author with some co-authored ones, and a few prolific
+ * authors write a large share of the books.
+ * <p>
+ * Book ids are reserved from {@code book_seq} so that books created afterwards through JPA do not collide. They
+ * are not always greater than the generated ones: Hibernate first hands out the rest of the block of ids it already
+ * holds in memory, which lies below the reserved range.
+ * The in-memory search index is not touched, it is rebuilt at startup or through {@code BookSearchIndexInitializer}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogGenerator {
+    public static final int CHUNK_SIZE = 5_000;
+    // allocationSize of book_seq, see Book
+    private static final int ID_BLOCK = 50;
+
+    private static final String[] FIRSTNAMES = {"Greg", "Imram", "John", "Jane", "Élise", "Zoë", "Leonel", "Amara", "Chidi",
+            "Hiroshi", "Sofía", "Lars", "Nadia", "Olusegun", "Priya", "Mateo", "Ingrid", "Kwame", "Léa", "Tomás", "Yuki",
+            "Fatima", "Björn", "Aisha", "Rafael", "Chloé", "Dmitri", "Mei", "Ngozi", "François"};
+    private static final String[] LASTNAMES = {"Turnquist", "Bachir", "Doe", "Wabo", "Müller", "García", "Okafor", "Tanaka",
+            "Dubois", "Nakamura", "Johansson", "Kowalski", "Mensah", "Sharma", "Rossi", "Fernández", "Novák", "Haddad",
+            "Nguyen", "O'Brien", "Çelik", "Lefèvre", "Schmidt", "Adeyemi", "Petrov", "Silva", "Kim", "Andersen"};
+    // Lastnames beyond the common ones are built from syllables, tens of thousands of them
+    private static final String[] SYLLABLES = {"ka", "lo", "mi", "ren", "sa", "to", "vel", "ber", "do", "fi", "gan", "ho",
+            "ji", "kel", "lun", "mar", "no", "pe", "ri", "sen", "ta", "ul", "vo", "wa", "yo", "zi", "bra", "cha", "dre", "gro",
+            "hal", "ind", "jor", "kri", "lem", "mon", "nor", "os", "pla", "qui"};
+    private static final String[] WORDS = {"spring", "boot", "java", "blockchain", "security", "data", "cloud", "patterns",
+            "kotlin", "microservices", "reactive", "testing", "kubernetes", "domain", "driven", "design", "learning",
+            "mastering", "practical", "modern", "effective", "distributed", "systems", "architecture", "performance",
+            "concurrency", "functional", "programming", "guide", "handbook", "fundamentals", "advanced", "applied",
+            "machine", "intelligence", "database", "queries", "streams", "events", "messaging", "resilience", "scale",
+            "observability", "delivery", "continuous", "secure", "craft", "clean", "code", "refactoring", "legacy",
+            "algorithms", "structures", "networks", "compilers", "operating", "virtual", "threads", "memory", "cache"};
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+
+    public CatalogStats generate(final CatalogSpec spec) {
+        final var start = System.nanoTime();
+        final var random = new Random(spec.seed());
+        final var authorIds = insertAuthors(random, spec.authors());
+        final var links = insertBooks(random, spec.books(), authorIds);
+        final var stats = new CatalogStats(spec.authors(), spec.books(), links, (System.nanoTime() - start) / 1_000_000);
+        log.info("Generated {} authors, {} books and {} author links in {} ms", stats.authors(), stats.books(), stats.authorLinks(), stats.millis());
+        return stats;
+    }
+
+    private List<UUID> insertAuthors(final Random random, final int count) {
+        final var ids = new ArrayList<UUID>(count);
+        final var rows = new ArrayList<Object[]>(CHUNK_SIZE);
+        for (int i = 0; i < count; i++) {
+            final var id = UuidV7Generator.next();
+            ids.add(id);
+            final var firstname = FIRSTNAMES[random.nextInt(FIRSTNAMES.length)];
+            final var lastname = lastname(random);
+            // Names repeat, the author index keeps the email unique without depending on the time based id
+            final var email = TextNormalizer.toKey(firstname + "." + lastname).replace(' ', '.') + "." + (i + 1) + "@example.org";
+            rows.add(new Object[]{id, firstname, lastname, Author.normalizeName(firstname), Author.normalizeName(lastname), email});
+            if (rows.size() == CHUNK_SIZE || i == count - 1) {
+                insert("insert into author (id, firstname, lastname, firstname_normalized, lastname_normalized, email, version) "
+                        + "values (?, ?, ?, ?, ?, ?, 0)", rows);
+                rows.clear();
+            }
+        }
+        return ids;
+    }
+
+    private int insertBooks(final Random random, final int count, final List<UUID> authorIds) {
+        if (count == 0) return 0;
+        if (authorIds.isEmpty()) throw new IllegalArgumentException("Books need at least one author");
+        final var firstId = reserveBookIds(count);
+        var links = 0;
+        final var books = new ArrayList<Object[]>(CHUNK_SIZE);
+        final var bookAuthors = new ArrayList<Object[]>(CHUNK_SIZE * 2);
+        for (int i = 0; i < count; i++) {
+            final var id = firstId + i;
+            // Plain JDBC bypasses the entity converter, store the summary the way Book#summary expects it
+            books.add(new Object[]{id, title(random), pages(random), CompressedText.compress(summary(random))});
+            for (final var authorId : authors(random, authorIds)) {
+                bookAuthors.add(new Object[]{id, authorId});
+                links++;
+            }
+            if (books.size() == CHUNK_SIZE || i == count - 1) {
+                final var bookRows = List.copyOf(books);
+                final var linkRows = List.copyOf(bookAuthors);
+                this.transactionTemplate.executeWithoutResult(status -> {
+                    this.jdbc.batchUpdate("insert into book (id, title, pages, summary, version) values (?, ?, ?, ?, 0)", bookRows);
+                    this.jdbc.batchUpdate("insert into books_authors (book_id, author_id) values (?, ?)", linkRows);
+                });
+                books.clear();
+                bookAuthors.clear();
+            }
+        }
+        return links;
+    }
+
+    private void insert(final String sql, final List<Object[]> rows) {
+        this.transactionTemplate.executeWithoutResult(status -> this.jdbc.batchUpdate(sql, rows));
+    }
+
+    /**
+     * Takes the next value of {@code book_seq} as the start of a range of {@code count} ids, then moves the
+     * sequence past that range. Hibernate's pooled optimizer reads a sequence value as the upper end of a
+     * block of {@link #ID_BLOCK} ids, hence the spare block. The block it may hold in memory ends below the
+     * range, the next one it reads starts above it.
+     */
+    private long reserveBookIds(final int count) {
+        final var next = this.jdbc.queryForObject("select next value for book_seq", Long.class);
+        final var first = Math.max(1, next - ID_BLOCK + 1);
+        final var blocks = (count + ID_BLOCK - 1) / ID_BLOCK + 1;
+        this.jdbc.execute("alter sequence book_seq restart with " + (next + (long) blocks * ID_BLOCK));
+        return first;
+    }
+
+    /**
+     * A common name for a third of the authors, a rarer syllable built one for the others.
+     */
+    private static String lastname(final Random random) {
+        if (random.nextInt(3) == 0) return LASTNAMES[random.nextInt(LASTNAMES.length)];
+        final var lastname = new StringBuilder();
+        for (int s = 0; s < 2 + random.nextInt(2); s++) lastname.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        lastname.setCharAt(0, Character.toUpperCase(lastname.charAt(0)));
+        return lastname.toString();
+    }
+
+    /**
+     * One author for most books, up to six for a few. Authors are drawn with a skew towards the start of the
+     * list, so that some of them write many books.
+     */
+    private static List<UUID> authors(final Random random, final List<UUID> authorIds) {
+        final var roll = random.nextDouble();
+        final var fanOut = roll < 0.70 ? 1 : roll < 0.90 ? 2 : roll < 0.97 ? 3 : 4 + random.nextInt(3);
+        final var picked = new LinkedHashSet<UUID>();
+        for (int i = 0; i < fanOut; i++) {
+            picked.add(authorIds.get((int) (authorIds.size() * Math.pow(random.nextDouble(), 3))));
+        }
+        return List.copyOf(picked);
+    }
+
+    /**
+     * Mostly two to five words, rarely up to twelve.
+     */
+    private static String title(final Random random) {
+        final var words = Math.min(12, 1 + (int) Math.round(-Math.log(1 - random.nextDouble()) * 2.5));
+        final var title = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            final var word = WORDS[random.nextInt(WORDS.length)];
+            if (w > 0) title.append(' ');
+            title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+        }
+        return title.toString();
+    }
+
+    /**
+     * Log-normal word count, around a hundred words with a tail of long blurbs.
+     */
+    private static String summary(final Random random) {
+        final var words = (int) Math.min(800, Math.max(5, Math.exp(4.5 + 0.6 * random.nextGaussian())));
+        final var summary = new StringBuilder(words * 8);
+        for (int w = 0; w < words; w++) {
+            if (w > 0) summary.append(w % 15 == 0 ? ". " : " ");
+            summary.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return summary.append('.').toString();
+    }
+
+    private static int pages(final Random random) {
+        return (int) Math.min(1_500, Math.max(40, Math.round(320 + 140 * random.nextGaussian())));
+    }
+}
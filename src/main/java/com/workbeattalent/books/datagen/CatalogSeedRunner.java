@@ -0,0 +1,42 @@
+package com.workbeattalent.books.datagen;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills an empty database with a synthetic catalog at startup, with the 'seed' profile. Runs before the
+ * application is ready, so the search index built at that point already contains the generated books.
+ */
+@Slf4j
+@Component
+@Profile("seed")
+@RequiredArgsConstructor
+public class CatalogSeedRunner implements ApplicationRunner {
+    private final CatalogGenerator generator;
+    private final JdbcTemplate jdbc;
+
+    @Value("${books.datagen.authors}")
+    private Integer authors;
+
+    @Value("${books.datagen.books}")
+    private Integer books;
+
+    @Value("${books.datagen.seed}")
+    private Long seed;
+
+    @Override
+    public void run(final ApplicationArguments args) {
+        final var existing = this.jdbc.queryForObject("select count(*) from book", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Catalog already holds {} books, skipping generation", existing);
+            return;
+        }
+        this.generator.generate(new CatalogSpec(this.authors, this.books, this.seed));
+    }
+}
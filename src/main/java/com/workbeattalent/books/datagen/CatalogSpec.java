@@ -0,0 +1,12 @@
+package com.workbeattalent.books.datagen;
+
+/**
+ * Size of a synthetic catalog. The same seed always produces the same names, emails, titles, summaries and
+ * authorships. Author ids are time based UUIDs and differ between runs; book ids come from {@code book_seq}.
+ */
+public record CatalogSpec(
+        Integer authors,
+        Integer books,
+        Long seed
+) {
+}
@@ -0,0 +1,9 @@
+package com.workbeattalent.books.datagen;
+
+public record CatalogStats(
+        Integer authors,
+        Integer books,
+        Integer authorLinks,
+        Long millis
+) {
+}
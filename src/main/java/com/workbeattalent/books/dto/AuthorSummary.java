@@ -0,0 +1,10 @@
+package com.workbeattalent.books.dto;
+
+import java.util.UUID;
+
+public record AuthorSummary(
+        UUID id,
+        String firstname,
+        String lastname
+) {
+}
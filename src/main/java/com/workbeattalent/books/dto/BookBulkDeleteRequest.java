@@ -0,0 +1,13 @@
+package com.workbeattalent.books.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Books to delete, either listed by id or selected by author: exactly one of the two is expected.
+ */
+public record BookBulkDeleteRequest(
+        List<Long> ids,
+        UUID authorId
+) {
+}
@@ -0,0 +1,6 @@
+package com.workbeattalent.books.dto;
+
+public record BookBulkDeleteResult(
+        Integer deleted
+) {
+}
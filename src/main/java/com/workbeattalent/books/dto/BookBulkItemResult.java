@@ -0,0 +1,18 @@
+package com.workbeattalent.books.dto;
+
+public record BookBulkItemResult(
+        Integer index,
+        Long id,
+        Status status,
+        String error
+) {
+    public enum Status {CREATED, FAILED}
+
+    public static BookBulkItemResult created(final int index, final Long id) {
+        return new BookBulkItemResult(index, id, Status.CREATED, null);
+    }
+
+    public static BookBulkItemResult failed(final int index, final String error) {
+        return new BookBulkItemResult(index, null, Status.FAILED, error);
+    }
+}
@@ -0,0 +1,17 @@
+package com.workbeattalent.books.dto;
+
+import java.util.List;
+
+public record BookBulkResult(
+        Integer total,
+        Integer succeeded,
+        Integer failed,
+        List<BookBulkItemResult> items
+) {
+    public static BookBulkResult of(final List<BookBulkItemResult> items) {
+        final var succeeded = (int) items.stream()
+                .filter(item -> item.status() == BookBulkItemResult.Status.CREATED)
+                .count();
+        return new BookBulkResult(items.size(), succeeded, items.size() - succeeded, items);
+    }
+}
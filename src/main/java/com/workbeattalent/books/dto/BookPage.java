@@ -0,0 +1,18 @@
+package com.workbeattalent.books.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Keyset page: pass {@code nextCursor} as {@code after} to get the following page, it is null on the last one.
+ * {@code total} is only given where counting is cheap.
+ */
+public record BookPage(
+        List<BookResponse> content,
+        Integer size,
+        Long nextCursor,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Long total
+) {
+}
@@ -0,0 +1,22 @@
+package com.workbeattalent.books.dto;
+
+import jakarta.validation.constraints.Size;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Partial update of a book: null fields are left untouched.
+ */
+public record BookPatchRequest(
+        @Size(min = 2, message = "Book title should be on at least 02 characters")
+        String title,
+
+        Integer pages,
+
+        String summary,
+
+        @Size(min = 1, message = "A book must have at least 01 author")
+        Set<UUID> authorIds
+) {
+}
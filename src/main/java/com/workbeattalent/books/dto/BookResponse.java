@@ -1,14 +1,17 @@
 package com.workbeattalent.books.dto;
 
-import com.workbeattalent.books.author.Author;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.util.Set;
 
+// Fields left out of a sparse read (?fields=) are null and not serialized
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record BookResponse(
         Long id,
         String title,
         Integer pages,
         String summary,
-        Set<Author> authors
+        Set<AuthorSummary> authors,
+        Long version
 ) {
 }
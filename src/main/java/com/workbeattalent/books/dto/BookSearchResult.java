@@ -0,0 +1,11 @@
+package com.workbeattalent.books.dto;
+
+import java.util.List;
+
+public record BookSearchResult(
+        List<BookResponse> content,
+        Integer page,
+        Integer size,
+        Integer total
+) {
+}
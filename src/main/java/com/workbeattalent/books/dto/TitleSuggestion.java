@@ -0,0 +1,7 @@
+package com.workbeattalent.books.dto;
+
+public record TitleSuggestion(
+        Long id,
+        String title
+) {
+}
@@ -1,5 +1,6 @@
 package com.workbeattalent.books.exceptions;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -51,4 +52,26 @@ public class GlobalApiErrorExceptionHandler {
                         Map.of()),
                 HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(exception = {BookVersionMismatchException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<ApiError> versionMismatchExceptionHandler(final RuntimeException e, final WebRequest request) {
+        return new ResponseEntity<>(
+                new ApiError(
+                        request.getDescription(false),
+                        HttpStatus.PRECONDITION_FAILED.name(),
+                        e.getMessage(),
+                        Map.of()),
+                HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(exception = {RequestBodyTooLargeException.class})
+    public ResponseEntity<ApiError> requestBodyTooLargeExceptionHandler(final RequestBodyTooLargeException e, final WebRequest request) {
+        return new ResponseEntity<>(
+                new ApiError(
+                        request.getDescription(false),
+                        HttpStatus.PAYLOAD_TOO_LARGE.name(),
+                        e.getMessage(),
+                        Map.of()),
+                HttpStatus.PAYLOAD_TOO_LARGE);
+    }
 }
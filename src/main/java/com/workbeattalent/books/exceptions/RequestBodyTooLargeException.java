@@ -0,0 +1,7 @@
+package com.workbeattalent.books.exceptions;
+
+public class RequestBodyTooLargeException extends RuntimeException {
+    public RequestBodyTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -1,16 +1,30 @@
 package com.workbeattalent.books.rest;
 
+import com.workbeattalent.books.book.BookBulkService;
+import com.workbeattalent.books.book.BookExportService;
 import com.workbeattalent.books.book.BookService;
 import com.workbeattalent.books.dto.AuthorRequest;
+import com.workbeattalent.books.dto.BookBulkDeleteRequest;
+import com.workbeattalent.books.dto.BookBulkDeleteResult;
+import com.workbeattalent.books.dto.BookBulkResult;
+import com.workbeattalent.books.dto.BookPage;
+import com.workbeattalent.books.dto.BookPatchRequest;
 import com.workbeattalent.books.dto.BookRequest;
 import com.workbeattalent.books.dto.BookResponse;
+import com.workbeattalent.books.dto.BookSearchResult;
+import com.workbeattalent.books.dto.TitleSuggestion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,6 +35,8 @@ import java.util.List;
 public class ApiController {
 
     private final BookService bookService;
+    private final BookExportService bookExportService;
+    private final BookBulkService bookBulkService;
 
     @PostMapping
     @Operation(summary = "Store new Books", description = "Record new books onces author(s) is/are already saved")
@@ -28,9 +44,38 @@ public class ApiController {
         return new ResponseEntity<>(this.bookService.store(request), HttpStatus.CREATED);
     }
 
+    @PostMapping(path = {"/bulk"})
+    @Operation(summary = "Store many books", description = "Stores books in chunked transactions and reports the outcome of every item")
+    public ResponseEntity<BookBulkResult> createAll(final @RequestBody List<BookRequest> requests) {
+        return new ResponseEntity<>(this.bookBulkService.ingest(requests), HttpStatus.OK);
+    }
+
+    @PostMapping(path = {"/bulk/delete"})
+    @Operation(summary = "Delete many books", description = "Deletes the listed books, or all books of an author, in chunked transactions")
+    public ResponseEntity<BookBulkDeleteResult> deleteAll(final @RequestBody BookBulkDeleteRequest request) {
+        return new ResponseEntity<>(this.bookBulkService.delete(request), HttpStatus.OK);
+    }
+
     @GetMapping(path = {"/search"})
-    public ResponseEntity<List<BookResponse>> searchByTitleLikely(final @RequestParam String title) {
-        return new ResponseEntity<>(this.bookService.findByTitleContaining(title), HttpStatus.OK);
+    public ResponseEntity<List<BookResponse>> searchByTitleLikely(final @RequestParam String title,
+                                                                  final @RequestParam(required = false) String fields) {
+        return new ResponseEntity<>(this.bookService.findByTitleContaining(title, fields), HttpStatus.OK);
+    }
+
+    @GetMapping(path = {"/search/ranked"})
+    @Operation(summary = "Full-text search", description = "Ranked search over book titles and summaries, case and accent insensitive")
+    public ResponseEntity<BookSearchResult> search(final @RequestParam String q,
+                                                   final @RequestParam(required = false) Integer page,
+                                                   final @RequestParam(required = false) Integer size,
+                                                   final @RequestParam(required = false) String fields) {
+        return new ResponseEntity<>(this.bookService.search(q, page, size, fields), HttpStatus.OK);
+    }
+
+    @GetMapping(path = {"/autocomplete"})
+    @Operation(summary = "Title suggestions", description = "Titles starting with the typed prefix, for type-ahead inputs")
+    public ResponseEntity<List<TitleSuggestion>> autocomplete(final @RequestParam String prefix,
+                                                              final @RequestParam(required = false) Integer limit) {
+        return new ResponseEntity<>(this.bookService.suggestTitles(prefix, limit), HttpStatus.OK);
     }
 
     @PostMapping(path = {"/authors"})
@@ -39,13 +84,47 @@ public class ApiController {
     }
 
     @GetMapping
+    @Operation(summary = "Page through books", description = "Keyset pagination: pass the returned nextCursor as 'after' to get the next page")
+    public ResponseEntity<BookPage> books(final @RequestParam(required = false) Long after,
+                                          final @RequestParam(required = false) Integer limit,
+                                          final @RequestParam(required = false) String fields) {
+        return new ResponseEntity<>(this.bookService.findPage(after, limit, fields), HttpStatus.OK);
+    }
+
+    @GetMapping(params = {"unpaged=true"})
+    @Operation(summary = "All books at once", description = "Unbounded listing of the whole catalog, use only on small catalogs")
     public ResponseEntity<List<BookResponse>> allBooks() {
         return new ResponseEntity<>(this.bookService.findAll(), HttpStatus.OK);
     }
 
+    @GetMapping(path = {"/export"}, produces = {MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Export the whole catalog", description = "Streams every book as newline delimited JSON")
+    public ResponseEntity<StreamingResponseBody> export() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(this.bookExportService::exportAll);
+    }
+
     @GetMapping(path = {"/{id}"})
-    public ResponseEntity<BookResponse> getBook(final @PathVariable Long id) {
-        return new ResponseEntity<>(this.bookService.findById(id), HttpStatus.OK);
+    @Operation(summary = "Get a book", description = "Returns 304 without body when If-None-Match holds the current ETag")
+    public ResponseEntity<BookResponse> getBook(final @PathVariable Long id,
+                                                final @RequestParam(required = false) String fields,
+                                                final @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                final NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        final var variant = ETags.variant(request);
+        if (ifNoneMatch != null) {
+            final var version = this.bookService.findVersion(id);
+            if (ETags.matches(ifNoneMatch, version, variant))
+                // Set here: VaryByAcceptAdvice is a body advice, and this response has no body
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version, variant)).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        if (fields != null) {
+            // A sparse book only carries an ETag when its version was asked for
+            final var book = this.bookService.findById(id, fields);
+            return book.version() == null ? ResponseEntity.ok().body(book) : ResponseEntity.ok().eTag(ETags.of(book.version(), variant)).body(book);
+        }
+        final var book = this.bookService.findById(id);
+        return ResponseEntity.ok().eTag(ETags.of(book.version(), variant)).body(book);
     }
 
     @DeleteMapping(path = {"/{id}"})
@@ -53,8 +132,23 @@ public class ApiController {
         return new ResponseEntity<>(this.bookService.delete(id), HttpStatus.ACCEPTED);
     }
 
+    @PatchMapping(path = {"/{id}"})
+    @Operation(summary = "Partially update a book", description = "Only the supplied fields are changed, authors are replaced by the given set")
+    public ResponseEntity<BookResponse> patch(final @PathVariable Long id,
+                                              final @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                              final @Valid @RequestBody BookPatchRequest patchRequest,
+                                              final NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        final var book = this.bookService.patch(id, patchRequest, ETags.parse(ifMatch));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).eTag(ETags.of(book.version(), ETags.variant(request))).body(book);
+    }
+
     @PutMapping(path = {"/{id}"})
-    public ResponseEntity<BookResponse> update(final @PathVariable Long id, final @Valid @RequestBody BookRequest updateRequest) {
-        return new ResponseEntity<>(this.bookService.update(id, updateRequest), HttpStatus.ACCEPTED);
+    @Operation(summary = "Replace a book", description = "With If-Match, the update is refused with 412 if the book changed since that ETag")
+    public ResponseEntity<BookResponse> update(final @PathVariable Long id,
+                                               final @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                               final @Valid @RequestBody BookRequest updateRequest,
+                                               final NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        final var book = this.bookService.update(id, updateRequest, ETags.parse(ifMatch));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).eTag(ETags.of(book.version(), ETags.variant(request))).body(book);
     }
 }
@@ -1,8 +1,11 @@
 package com.workbeattalent.books.rest;
 
 import com.workbeattalent.books.author.AuthorService;
+import com.workbeattalent.books.book.BookService;
 import com.workbeattalent.books.dto.AuthorRequest;
 import com.workbeattalent.books.dto.AuthorResponse;
+import com.workbeattalent.books.dto.BookPage;
+import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -17,6 +20,7 @@ import java.util.UUID;
 public class AuthorController {
 
     private final AuthorService service;
+    private final BookService bookService;
 
     @PostMapping
     public ResponseEntity<AuthorResponse> register(final @Valid @RequestBody AuthorRequest authorRequest) {
@@ -28,5 +32,11 @@ public class AuthorController {
         return new ResponseEntity<>(this.service.findById(id), HttpStatus.OK);
     }
 
-    // Todo: Get author books
+    @GetMapping(path = {"/{id}/books"})
+    @Operation(summary = "Books of an author", description = "Keyset pagination: pass the returned nextCursor as 'after' to get the following page")
+    public ResponseEntity<BookPage> books(final @PathVariable UUID id,
+                                          final @RequestParam(required = false) Long after,
+                                          final @RequestParam(required = false) Integer limit) {
+        return new ResponseEntity<>(this.bookService.findPageByAuthor(id, after, limit), HttpStatus.OK);
+    }
 }
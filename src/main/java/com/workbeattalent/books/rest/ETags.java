@@ -0,0 +1,64 @@
+package com.workbeattalent.books.rest;
+
+import com.workbeattalent.books.exceptions.BookManagementInvalidException;
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationStrategy;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
+import org.springframework.web.context.request.NativeWebRequest;
+
+/**
+ * Entity tags derived from the JPA version column: {@code "3"} for version 3 in JSON. Each encoding of the same
+ * version is a different representation, so CBOR and Smile carry their own tag, {@code "3-cbor"} and
+ * {@code "3-smile"}. An If-Match header may hold the tag of any encoding, only its version is compared.
+ */
+final class ETags {
+    private static final String ANY = "*";
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final ContentNegotiationStrategy ACCEPT = new HeaderContentNegotiationStrategy();
+
+    private ETags() {
+    }
+
+    /**
+     * Suffix of the encoding negotiated from the Accept header, read in order of preference like the message
+     * converters do: none for JSON, which also answers when nothing more specific is accepted.
+     */
+    static String variant(final NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        for (final var type : ACCEPT.resolveMediaTypes(request)) {
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) return "";
+            if (type.isCompatibleWith(MediaType.APPLICATION_CBOR)) return "-cbor";
+            if (type.isCompatibleWith(SMILE)) return "-smile";
+        }
+        return "";
+    }
+
+    static String of(final Long version, final String variant) {
+        return "\"" + version + variant + "\"";
+    }
+
+    /**
+     * True when one of the tags of an If-None-Match header designates the version in the given encoding. Weak tags
+     * compare equal.
+     */
+    static boolean matches(final String ifNoneMatch, final Long version, final String variant) {
+        for (final var tag : ifNoneMatch.split(",")) {
+            final var trimmed = tag.trim();
+            if (trimmed.equals(ANY) || trimmed.replaceFirst("^W/", "").equals(of(version, variant))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Version expected by an If-Match header, null when the header is absent or is {@code *}.
+     */
+    static Long parse(final String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals(ANY)) return null;
+        final var tag = ifMatch.trim().replaceFirst("^W/", "").replace("\"", "").replaceFirst("-(cbor|smile)$", "");
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new BookManagementInvalidException("Invalid If-Match header: " + ifMatch);
+        }
+    }
+}
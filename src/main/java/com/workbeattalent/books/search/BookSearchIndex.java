@@ -0,0 +1,199 @@
+package com.workbeattalent.books.search;
+
+import com.workbeattalent.books.util.TextNormalizer;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over book titles and summaries, ranked with BM25.
+ * Title terms weigh {@link #TITLE_BOOST} times a summary term. The index is rebuilt at startup by
+ * {@link BookSearchIndexInitializer} and kept up to date by {@code BookService} on every write.
+ * A rebuild fills a fresh index that replaces the current one at once when complete; writes made meanwhile go to
+ * both, and the rebuild skips the books they touched so that a row read before a write cannot overwrite it.
+ */
+@Component
+public class BookSearchIndex {
+    static final int TITLE_BOOST = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Comparator<SearchHit> RANKING = Comparator.comparing(SearchHit::score).reversed()
+            .thenComparing(SearchHit::bookId);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Postings current = new Postings();
+    // Only set while a rebuild runs, with the ids of the books written meanwhile
+    private Postings rebuilt;
+    private Set<Long> touched;
+
+    private record IndexedBook(Map<String, Integer> terms, int length) {
+    }
+
+    private static final class Postings {
+        // term -> (book id -> weighted term frequency)
+        private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+        // book id -> weighted terms of the book, needed to remove it from the postings
+        private final Map<Long, IndexedBook> books = new HashMap<>();
+        private long totalLength;
+
+        private void put(final Long bookId, final IndexedBook book) {
+            remove(bookId);
+            book.terms().forEach((term, frequency) -> this.postings.computeIfAbsent(term, t -> new HashMap<>()).put(bookId, frequency));
+            this.books.put(bookId, book);
+            this.totalLength += book.length();
+        }
+
+        private void remove(final Long bookId) {
+            final var previous = this.books.remove(bookId);
+            if (previous == null) return;
+            previous.terms().keySet().forEach(term -> {
+                final var matches = this.postings.get(term);
+                matches.remove(bookId);
+                if (matches.isEmpty()) this.postings.remove(term);
+            });
+            this.totalLength -= previous.length();
+        }
+    }
+
+    /**
+     * Adds the book, or replaces it if it is already indexed.
+     */
+    public void index(final Long bookId, final String title, final String summary) {
+        final var book = analyze(title, summary);
+        this.lock.writeLock().lock();
+        try {
+            this.current.put(bookId, book);
+            if (this.rebuilt != null) {
+                this.rebuilt.put(bookId, book);
+                this.touched.add(bookId);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(final Long bookId) {
+        this.lock.writeLock().lock();
+        try {
+            this.current.remove(bookId);
+            if (this.rebuilt != null) {
+                this.rebuilt.remove(bookId);
+                this.touched.add(bookId);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts filling a fresh index with {@link #load}, searches keep reading the current one meanwhile.
+     */
+    public void beginRebuild() {
+        this.lock.writeLock().lock();
+        try {
+            this.rebuilt = new Postings();
+            this.touched = new HashSet<>();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a stored book to the index being rebuilt, unless it was written since the rebuild began.
+     */
+    public void load(final Long bookId, final String title, final String summary) {
+        final var book = analyze(title, summary);
+        this.lock.writeLock().lock();
+        try {
+            if (this.rebuilt != null && !this.touched.contains(bookId)) this.rebuilt.put(bookId, book);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the current index with the rebuilt one.
+     */
+    public void finishRebuild() {
+        this.lock.writeLock().lock();
+        try {
+            if (this.rebuilt != null) this.current = this.rebuilt;
+            this.rebuilt = null;
+            this.touched = null;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the index being rebuilt, the current one stays.
+     */
+    public void cancelRebuild() {
+        this.lock.writeLock().lock();
+        try {
+            this.rebuilt = null;
+            this.touched = null;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.current.books.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Books matching at least one term of the query, best first. Only the requested window is sorted.
+     */
+    public SearchHits search(final String query, final int offset, final int limit) {
+        final var terms = new LinkedHashSet<>(TextNormalizer.tokenize(query));
+        if (terms.isEmpty()) return new SearchHits(List.of(), 0);
+
+        this.lock.readLock().lock();
+        try {
+            final var index = this.current;
+            final var documents = index.books.size();
+            final var averageLength = documents == 0 ? 1.0 : (double) index.totalLength / documents;
+            final var scores = new HashMap<Long, Double>();
+            for (final var term : terms) {
+                final var matches = index.postings.get(term);
+                if (matches == null) continue;
+                final var idf = Math.log(1 + (documents - matches.size() + 0.5) / (matches.size() + 0.5));
+                matches.forEach((bookId, frequency) -> {
+                    final var norm = K1 * (1 - B + B * index.books.get(bookId).length() / averageLength);
+                    scores.merge(bookId, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                });
+            }
+            return new SearchHits(top(scores, offset, limit), scores.size());
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private static IndexedBook analyze(final String title, final String summary) {
+        final var terms = new HashMap<String, Integer>();
+        TextNormalizer.tokenize(title).forEach(term -> terms.merge(term, TITLE_BOOST, Integer::sum));
+        TextNormalizer.tokenize(summary).forEach(term -> terms.merge(term, 1, Integer::sum));
+        return new IndexedBook(terms, terms.values().stream().mapToInt(Integer::intValue).sum());
+    }
+
+    private static List<SearchHit> top(final Map<Long, Double> scores, final int offset, final int limit) {
+        final var window = offset + limit;
+        if (limit <= 0 || offset >= scores.size()) return List.of();
+        // Min-heap on the ranking keeps the best 'window' hits without sorting every match
+        final var heap = new PriorityQueue<SearchHit>(window, RANKING.reversed());
+        scores.forEach((bookId, score) -> {
+            heap.offer(new SearchHit(bookId, score));
+            if (heap.size() > window) heap.poll();
+        });
+        final var ranked = new ArrayList<>(heap);
+        ranked.sort(RANKING);
+        return List.copyOf(ranked.subList(offset, ranked.size()));
+    }
+}
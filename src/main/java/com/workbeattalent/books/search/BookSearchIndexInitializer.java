@@ -0,0 +1,71 @@
+package com.workbeattalent.books.search;
+
+import com.workbeattalent.books.book.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Loads every stored book into the in-memory search structures once the application is started.
+ * The catalog is loaded into fresh structures that replace the current ones once complete. With
+ * {@code books.search.rebuild-in-background}, the application serves requests while the rebuild runs: meanwhile
+ * searches and suggestions only see the books written since startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookSearchIndexInitializer {
+    private final BookRepository repository;
+    private final BookSearchIndex searchIndex;
+    private final TitleAutocomplete titleAutocomplete;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${books.search.rebuild-in-background:false}")
+    private boolean rebuildInBackground;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!this.rebuildInBackground) {
+            rebuild();
+            return;
+        }
+        Thread.ofPlatform().name("search-index-rebuild").daemon().start(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Search index rebuild failed, searches only see books written since startup", e);
+            }
+        });
+    }
+
+    public void rebuild() {
+        final var start = System.nanoTime();
+        final var readOnly = new TransactionTemplate(this.transactionManager);
+        readOnly.setReadOnly(true);
+        this.searchIndex.beginRebuild();
+        this.titleAutocomplete.beginRebuild();
+        try {
+            // Plain rows, not entities: nothing accumulates in the persistence context however large the catalog
+            readOnly.executeWithoutResult(status -> {
+                try (final var books = this.repository.streamAllTexts()) {
+                    books.forEach(book -> {
+                        this.searchIndex.load(book.id(), book.title(), book.summary());
+                        this.titleAutocomplete.load(book.id(), book.title());
+                    });
+                }
+            });
+        } catch (RuntimeException e) {
+            this.searchIndex.cancelRebuild();
+            this.titleAutocomplete.cancelRebuild();
+            throw e;
+        }
+        this.searchIndex.finishRebuild();
+        this.titleAutocomplete.finishRebuild();
+        log.info("Search index and title autocomplete rebuilt with {} books in {} ms", this.searchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
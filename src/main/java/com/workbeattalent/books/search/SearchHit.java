@@ -0,0 +1,7 @@
+package com.workbeattalent.books.search;
+
+public record SearchHit(
+        Long bookId,
+        Double score
+) {
+}
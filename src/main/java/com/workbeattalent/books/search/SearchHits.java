@@ -0,0 +1,9 @@
+package com.workbeattalent.books.search;
+
+import java.util.List;
+
+public record SearchHits(
+        List<SearchHit> hits,
+        Integer total
+) {
+}
@@ -0,0 +1,149 @@
+package com.workbeattalent.books.search;
+
+import com.workbeattalent.books.dto.TitleSuggestion;
+import com.workbeattalent.books.util.TextNormalizer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sorted set of normalized book titles answering "titles starting with" lookups with a range scan.
+ * Rebuilt at startup by {@link BookSearchIndexInitializer} and kept up to date by {@code BookService}. Like
+ * {@link BookSearchIndex}, a rebuild fills fresh maps that replace the current ones at once, with the writes made
+ * meanwhile applied to both. Lookups never wait, writes are serialized.
+ */
+@Component
+public class TitleAutocomplete {
+    // Appended to the normalized title so that books sharing a title get distinct keys
+    private static final char SEPARATOR = '\u0000';
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Titles current = new Titles();
+    // Only set while a rebuild runs, with the ids of the books written meanwhile
+    private Titles rebuilt;
+    private Set<Long> touched;
+
+    private static final class Titles {
+        private final ConcurrentNavigableMap<String, TitleSuggestion> titles = new ConcurrentSkipListMap<>();
+        private final ConcurrentHashMap<Long, String> keys = new ConcurrentHashMap<>();
+
+        private void put(final Long bookId, final String title) {
+            final var key = TextNormalizer.toKey(title) + SEPARATOR + bookId;
+            final var previous = this.keys.put(bookId, key);
+            if (previous != null && !previous.equals(key)) this.titles.remove(previous);
+            this.titles.put(key, new TitleSuggestion(bookId, title));
+        }
+
+        private void remove(final Long bookId) {
+            final var previous = this.keys.remove(bookId);
+            if (previous != null) this.titles.remove(previous);
+        }
+    }
+
+    /**
+     * Adds the book title, or replaces it if the book is already known.
+     */
+    public void put(final Long bookId, final String title) {
+        this.lock.lock();
+        try {
+            this.current.put(bookId, title);
+            if (this.rebuilt != null) {
+                this.rebuilt.put(bookId, title);
+                this.touched.add(bookId);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public void remove(final Long bookId) {
+        this.lock.lock();
+        try {
+            this.current.remove(bookId);
+            if (this.rebuilt != null) {
+                this.rebuilt.remove(bookId);
+                this.touched.add(bookId);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Starts filling fresh maps with {@link #load}, lookups keep reading the current ones meanwhile.
+     */
+    public void beginRebuild() {
+        this.lock.lock();
+        try {
+            this.rebuilt = new Titles();
+            this.touched = new HashSet<>();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Adds a stored title to the maps being rebuilt, unless the book was written since the rebuild began.
+     */
+    public void load(final Long bookId, final String title) {
+        this.lock.lock();
+        try {
+            if (this.rebuilt != null && !this.touched.contains(bookId)) this.rebuilt.put(bookId, title);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the current titles with the rebuilt ones.
+     */
+    public void finishRebuild() {
+        this.lock.lock();
+        try {
+            if (this.rebuilt != null) this.current = this.rebuilt;
+            this.rebuilt = null;
+            this.touched = null;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the titles being rebuilt, the current ones stay.
+     */
+    public void cancelRebuild() {
+        this.lock.lock();
+        try {
+            this.rebuilt = null;
+            this.touched = null;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public int size() {
+        return this.current.keys.size();
+    }
+
+    /**
+     * At most {@code limit} titles starting with the prefix, in alphabetical order. Case, accents and
+     * punctuation are ignored on both sides.
+     */
+    public List<TitleSuggestion> suggest(final String prefix, final int limit) {
+        final var normalizedPrefix = TextNormalizer.toKey(prefix);
+        if (normalizedPrefix.isEmpty() || limit <= 0) return List.of();
+        final var suggestions = new ArrayList<TitleSuggestion>(limit);
+        for (final var suggestion : this.current.titles.subMap(normalizedPrefix, true, normalizedPrefix + Character.MAX_VALUE, false).values()) {
+            suggestions.add(suggestion);
+            if (suggestions.size() == limit) break;
+        }
+        return suggestions;
+    }
+}
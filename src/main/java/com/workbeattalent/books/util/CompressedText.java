@@ -0,0 +1,87 @@
+package com.workbeattalent.books.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact binary form of long texts: a one byte header, then either the raw UTF-8 bytes or their deflated form,
+ * whichever is shorter. Short texts are not worth the deflate overhead and stay raw. Deflate runs at its fastest
+ * level: texts are compressed on every write and inflated on every read.
+ */
+public final class CompressedText {
+    static final byte RAW = 0;
+    static final byte DEFLATED = 1;
+    // Below this size the deflate header and dictionary outweigh what it saves
+    static final int MIN_DEFLATE_SIZE = 128;
+
+    private CompressedText() {
+    }
+
+    public static byte[] compress(final String text) {
+        if (text == null) return null;
+        final var utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= MIN_DEFLATE_SIZE) {
+            final var deflated = deflate(utf8);
+            if (deflated.length < utf8.length) return withHeader(DEFLATED, deflated);
+        }
+        return withHeader(RAW, utf8);
+    }
+
+    public static String decompress(final byte[] stored) {
+        if (stored == null) return null;
+        if (stored.length == 0) throw new IllegalArgumentException("Compressed text without header");
+        final var body = Arrays.copyOfRange(stored, 1, stored.length);
+        return switch (stored[0]) {
+            case RAW -> new String(body, StandardCharsets.UTF_8);
+            case DEFLATED -> new String(inflate(body), StandardCharsets.UTF_8);
+            default -> throw new IllegalArgumentException("Unknown compressed text header: " + stored[0]);
+        };
+    }
+
+    private static byte[] withHeader(final byte header, final byte[] body) {
+        final var stored = new byte[body.length + 1];
+        stored[0] = header;
+        System.arraycopy(body, 0, stored, 1, body.length);
+        return stored;
+    }
+
+    private static byte[] deflate(final byte[] bytes) {
+        final var deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            final var out = new ByteArrayOutputStream(bytes.length / 2);
+            final var buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(final byte[] bytes) {
+        final var inflater = new Inflater(true);
+        try {
+            inflater.setInput(bytes);
+            final var out = new ByteArrayOutputStream(bytes.length * 3);
+            final var buffer = new byte[4096];
+            while (!inflater.finished()) {
+                final var inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    throw new IllegalArgumentException("Truncated compressed text");
+                out.write(buffer, 0, inflated);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupted compressed text", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.workbeattalent.books.util;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a text attribute as {@link CompressedText}. Applied explicitly with {@code @Convert}, never automatically.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+    @Override
+    public byte[] convertToDatabaseColumn(final String attribute) {
+        return CompressedText.compress(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(final byte[] dbData) {
+        return CompressedText.decompress(dbData);
+    }
+}
@@ -4,10 +4,13 @@ import com.workbeattalent.books.author.Author;
 import com.workbeattalent.books.book.Book;
 import com.workbeattalent.books.dto.AuthorRequest;
 import com.workbeattalent.books.dto.AuthorResponse;
+import com.workbeattalent.books.dto.AuthorSummary;
 import com.workbeattalent.books.dto.BookRequest;
 import com.workbeattalent.books.dto.BookResponse;
 import org.springframework.stereotype.Service;
 
+import java.util.stream.Collectors;
+
 @Service
 public class EntityDtoMapper {
     public Book toBook(final BookRequest request) {
@@ -25,7 +28,14 @@ public class EntityDtoMapper {
                 savedBook.getTitle(),
                 savedBook.getPages(),
                 savedBook.getSummary(),
-                savedBook.getAuthors());
+                savedBook.getAuthors().stream()
+                        .map(this::toAuthorSummary)
+                        .collect(Collectors.toUnmodifiableSet()),
+                savedBook.getVersion());
+    }
+
+    public AuthorSummary toAuthorSummary(final Author author) {
+        return new AuthorSummary(author.getId(), author.getFirstname(), author.getLastname());
     }
 
     public Author toAuthor(AuthorRequest request) {
@@ -0,0 +1,45 @@
+package com.workbeattalent.books.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Case folding, accent stripping and tokenization shared by every text lookup (search, autocomplete, names).
+ */
+public final class TextNormalizer {
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * "Élise  O'Brien" -> "elise  o'brien". Returns an empty string for null.
+     */
+    public static String normalize(final String text) {
+        if (text == null) return "";
+        final var decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Comparable lookup key: normalized words joined by single spaces. " Greg  L. " -> "greg l"
+     */
+    public static String toKey(final String text) {
+        return String.join(" ", tokenize(text));
+    }
+
+    /**
+     * Normalized words of the text, in order and with repetitions. "Spring Boot 3.0!" -> [spring, boot, 3, 0]
+     */
+    public static List<String> tokenize(final String text) {
+        final var tokens = new ArrayList<String>();
+        for (final var token : NON_WORD.split(normalize(text))) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,63 @@
+package com.workbeattalent.books.util;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+
+/**
+ * RFC 9562 version 7 UUIDs: 48 bits of Unix epoch milliseconds, a 12 bits counter and 62 random bits.
+ * The counter keeps ids generated within the same millisecond strictly increasing in this JVM.
+ * Insert throughput and index size against random v4 keys are measured by {@code UuidKeyBenchmark}.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int MAX_COUNTER = 0xFFF;
+
+    private static long lastMillis;
+    private static int counter;
+
+    public static UUID next() {
+        final long millis;
+        final int sequence;
+        synchronized (UuidV7Generator.class) {
+            final var now = System.currentTimeMillis();
+            if (now > lastMillis) {
+                lastMillis = now;
+                // Random start in the lower half leaves room for many ids within the same millisecond
+                counter = RANDOM.nextInt(MAX_COUNTER / 2);
+            } else if (++counter > MAX_COUNTER) {
+                // Counter exhausted (or clock moved back): borrow the next millisecond
+                lastMillis++;
+                counter = 0;
+            }
+            millis = lastMillis;
+            sequence = counter;
+        }
+        final var mostSignificant = (millis << 16) | (0x7L << 12) | sequence;
+        final var leastSignificant = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    /**
+     * Creation time encoded in a version 7 UUID, in epoch milliseconds.
+     */
+    public static long timestamp(final UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    @Override
+    public Object generate(final SharedSessionContractImplementor session, final Object owner,
+                           final Object currentValue, final EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
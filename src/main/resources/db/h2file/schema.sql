@@ -0,0 +1,37 @@
+-- Schema of the 'h2file' profile, matching the Author and Book mappings. Every statement is a no-op on an
+-- existing file: Hibernate then validates the file against the entities instead of altering it. A mapping change
+-- needs a matching change here and a migration of existing files.
+create sequence if not exists book_seq start with 1 increment by 50;
+
+create table if not exists author (
+    id uuid not null,
+    firstname varchar(255) not null,
+    lastname varchar(255),
+    firstname_normalized varchar(255),
+    lastname_normalized varchar(255),
+    email varchar(255) not null,
+    version bigint,
+    primary key (id),
+    constraint uk_author_email unique (email)
+);
+create index if not exists idx_author_firstname_normalized on author (firstname_normalized);
+create index if not exists idx_author_lastname_normalized on author (lastname_normalized);
+
+create table if not exists book (
+    id bigint not null,
+    title varchar(255) not null,
+    pages integer not null,
+    -- CompressedText bytes, see Book#summary
+    summary varbinary not null,
+    version bigint,
+    primary key (id)
+);
+
+create table if not exists books_authors (
+    book_id bigint not null,
+    author_id uuid not null,
+    primary key (book_id, author_id),
+    constraint fk_books_authors_book foreign key (book_id) references book (id),
+    constraint fk_books_authors_author foreign key (author_id) references author (id)
+);
+create index if not exists idx_books_authors_author_id on books_authors (author_id, book_id);
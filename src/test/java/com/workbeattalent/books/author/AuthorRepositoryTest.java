@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -81,6 +82,24 @@ class AuthorRepositoryTest {
         assertThat(optionalResponse.get().getEmail()).isEqualTo(william.getEmail());
     }
 
+    @Test
+    void whenSavingOrRenamingAuthor_thenMaintainNormalizedNames() {
+        // Given
+        final var elise = Author.builder()
+                .firstname("Élise")
+                .lastname("  Ångström ")
+                .email("elise@mail.org")
+                .build();
+        final var saved = this.underTest.saveAndFlush(elise);
+        assertThat(saved.getFirstnameNormalized()).isEqualTo("elise");
+        assertThat(saved.getLastnameNormalized()).isEqualTo("angstrom");
+        // When
+        saved.setLastname(null);
+        this.underTest.saveAndFlush(saved);
+        // Then
+        assertThat(saved.getLastnameNormalized()).isNull();
+    }
+
     @Test
     void whenFindingNotExistingAuthorByItsID_thenReturnEmpty() {
         // Given
@@ -91,4 +110,14 @@ class AuthorRepositoryTest {
         assertThat(optionalResponse).isEmpty();
     }
 
-}
\ No newline at end of file
+    @Test
+    void whenCheckingExistingIds_thenReturnOnlyStoredOnes() {
+        // Given
+        final var storedId = this.underTest.findAll().getFirst().getId();
+        final var fakeId = UUID.randomUUID();
+        // When
+        final var result = this.underTest.findExistingIds(Set.of(storedId, fakeId));
+        // Then
+        assertThat(result).containsExactly(storedId);
+    }
+}
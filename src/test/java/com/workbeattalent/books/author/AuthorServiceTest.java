@@ -51,7 +51,7 @@ class AuthorServiceTest {
                 .lastname("Bachir")
                 .email("imram.bachir@gmail.com")
                 .build();
-        when(this.authorRepository.findAllById(any()))
+        when(this.authorRepository.loadAll(any()))
                 .thenReturn(List.of(greg, imram));
         // When
         final var response = this.underTest.findAll(Set.of(UUID.randomUUID()));
@@ -143,4 +143,25 @@ class AuthorServiceTest {
         assertThat(response).isFalse();
         assertThat(response).isInstanceOf(Boolean.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenCheckingExistingIds_thenDelegateToSingleRepositoryQuery() {
+        // Given
+        final var known = UUID.randomUUID();
+        final var unknown = UUID.randomUUID();
+        when(this.authorRepository.findExistingIds(Set.of(known, unknown))).thenReturn(Set.of(known));
+        // When
+        final var response = this.underTest.existingIds(Set.of(known, unknown));
+        // Then
+        assertThat(response).containsExactly(known);
+    }
+
+    @Test
+    void whenCheckingNoIds_thenDoNotQueryRepository() {
+        // When
+        final var response = this.underTest.existingIds(Set.of());
+        // Then
+        assertThat(response).isEmpty();
+        verifyNoInteractions(this.authorRepository);
+    }
+}
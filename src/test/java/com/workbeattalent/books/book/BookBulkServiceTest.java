@@ -0,0 +1,170 @@
+package com.workbeattalent.books.book;
+
+import com.workbeattalent.books.author.Author;
+import com.workbeattalent.books.author.AuthorRepository;
+import com.workbeattalent.books.dto.BookBulkDeleteRequest;
+import com.workbeattalent.books.dto.BookBulkItemResult;
+import com.workbeattalent.books.dto.BookRequest;
+import com.workbeattalent.books.exceptions.BookManagementInvalidException;
+import com.workbeattalent.books.exceptions.EntityElementNotFoundException;
+import com.workbeattalent.books.search.TitleAutocomplete;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class BookBulkServiceTest {
+
+    @Autowired
+    private BookBulkService underTest;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private TitleAutocomplete titleAutocomplete;
+
+    private Author greg;
+
+    @BeforeEach
+    void setUp() {
+        this.greg = this.authorRepository.save(Author.builder()
+                .firstname("Greg L.")
+                .lastname("Turnsquist")
+                .email("turnquist@hotmail.com")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.bookRepository.deleteAll();
+        this.authorRepository.deleteAll();
+    }
+
+    @Test
+    void whenIngestingMoreBooksThanChunkSize_thenStoreThemAll() {
+        // Given
+        final var requests = new ArrayList<BookRequest>();
+        for (int i = 0; i < BookBulkService.CHUNK_SIZE + 10; i++) {
+            requests.add(new BookRequest(null, "Bulk Book " + i, 100 + i, "Summary " + i, Set.of(this.greg.getId())));
+        }
+        // When
+        final var result = this.underTest.ingest(requests);
+        // Then
+        assertThat(result.total()).isEqualTo(requests.size());
+        assertThat(result.succeeded()).isEqualTo(requests.size());
+        assertThat(result.items()).extracting(BookBulkItemResult::index).isSorted();
+        assertThat(this.bookRepository.count()).isEqualTo(requests.size());
+        assertThat(this.titleAutocomplete.suggest("bulk book 509", 1)).hasSize(1);
+    }
+
+    @Test
+    void whenSomeItemsAreInvalid_thenReportThemAndStoreTheOthers() {
+        // Given
+        final var requests = List.of(
+                new BookRequest(null, "Learning Spring Boot 3.0", 248, "Spring boot", Set.of(this.greg.getId())),
+                new BookRequest(null, "A", 248, "Too short title", Set.of(this.greg.getId())),
+                new BookRequest(null, "Ghost Writer", 120, "Unknown author", Set.of(UUID.randomUUID())),
+                new BookRequest(null, "No Summary", 120, null, Set.of(this.greg.getId())));
+        // When
+        final var result = this.underTest.ingest(requests);
+        // Then
+        assertThat(result.succeeded()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(3);
+        assertThat(result.items().get(0).status()).isEqualTo(BookBulkItemResult.Status.CREATED);
+        assertThat(result.items().get(0).id()).isNotNull();
+        assertThat(result.items().get(1).error()).isEqualTo("Book title should be on at least 02 characters");
+        assertThat(result.items().get(2).error()).isEqualTo("One or more author not found");
+        assertThat(result.items().get(3).error()).isEqualTo("Book summary is required");
+        assertThat(this.bookRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void whenDatabaseRejectsOneItem_thenStoreTheRestOfItsChunk() {
+        // Given: a title over the column length passes validation but not the insert
+        final var requests = List.of(
+                new BookRequest(null, "Learning Spring Boot 3.0", 248, "Spring boot", Set.of(this.greg.getId())),
+                new BookRequest(null, "T".repeat(300), 120, "Too long for the column", Set.of(this.greg.getId())),
+                new BookRequest(null, "Master Blockchain", 747, "Blockchain", Set.of(this.greg.getId())));
+        // When
+        final var result = this.underTest.ingest(requests);
+        // Then
+        assertThat(result.succeeded()).isEqualTo(2);
+        assertThat(result.items()).extracting(BookBulkItemResult::status).containsExactly(
+                BookBulkItemResult.Status.CREATED, BookBulkItemResult.Status.FAILED, BookBulkItemResult.Status.CREATED);
+        assertThat(result.items().get(1).error()).startsWith("Rejected by the database");
+        assertThat(this.bookRepository.count()).isEqualTo(2);
+        assertThat(this.titleAutocomplete.suggest("master", 1)).hasSize(1);
+    }
+
+    @Test
+    void whenIngestingTooManyBooks_thenThrowBookManagementInvalidException() {
+        // Given
+        final List<BookRequest> requests = Collections.nCopies(BookBulkService.MAX_ITEMS + 1, null);
+        // When // Then
+        assertThatThrownBy(() -> this.underTest.ingest(requests))
+                .isInstanceOf(BookManagementInvalidException.class);
+    }
+
+    @Test
+    void whenDeletingBooksOfAnAuthor_thenDeleteThemAllAcrossChunks() {
+        // Given
+        final var other = this.authorRepository.save(Author.builder().firstname("John").lastname("Doe").email("john.doe@mail.org").build());
+        final var requests = new ArrayList<BookRequest>();
+        for (int i = 0; i < BookBulkService.CHUNK_SIZE + 10; i++) {
+            requests.add(new BookRequest(null, "Retired Book " + i, 100 + i, "Summary " + i, Set.of(this.greg.getId())));
+        }
+        requests.add(new BookRequest(null, "Kept Book", 100, "Summary", Set.of(other.getId())));
+        this.underTest.ingest(requests);
+        // When
+        final var result = this.underTest.delete(new BookBulkDeleteRequest(null, this.greg.getId()));
+        // Then
+        assertThat(result.deleted()).isEqualTo(BookBulkService.CHUNK_SIZE + 10);
+        assertThat(this.bookRepository.count()).isEqualTo(1);
+        assertThat(this.titleAutocomplete.suggest("retired book", 1)).isEmpty();
+        assertThat(this.titleAutocomplete.suggest("kept book", 1)).hasSize(1);
+    }
+
+    @Test
+    void whenDeletingBooksById_thenCountOnlyExistingOnes() {
+        // Given
+        final var result = this.underTest.ingest(List.of(
+                new BookRequest(null, "Learning Spring Boot 3.0", 248, "Spring boot", Set.of(this.greg.getId())),
+                new BookRequest(null, "Master Blockchain", 747, "Blockchain", Set.of(this.greg.getId()))));
+        final var firstId = result.items().getFirst().id();
+        // When
+        final var deleted = this.underTest.delete(new BookBulkDeleteRequest(List.of(firstId, firstId, -1L), null));
+        // Then
+        assertThat(deleted.deleted()).isEqualTo(1);
+        assertThat(this.bookRepository.findAll()).extracting(Book::getTitle).containsExactly("Master Blockchain");
+    }
+
+    @Test
+    void whenDeletingWithBothIdsAndAuthor_thenThrowBookManagementInvalidException() {
+        // When // Then
+        assertThatThrownBy(() -> this.underTest.delete(new BookBulkDeleteRequest(List.of(1L), this.greg.getId())))
+                .isInstanceOf(BookManagementInvalidException.class)
+                .hasMessage("Either book ids or an author id is required");
+    }
+
+    @Test
+    void whenDeletingBooksOfNotExistingAuthor_thenThrowEntityElementNotFoundException() {
+        // When // Then
+        assertThatThrownBy(() -> this.underTest.delete(new BookBulkDeleteRequest(null, UUID.randomUUID())))
+                .isInstanceOf(EntityElementNotFoundException.class);
+    }
+}
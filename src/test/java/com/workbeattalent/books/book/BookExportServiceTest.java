@@ -0,0 +1,68 @@
+package com.workbeattalent.books.book;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workbeattalent.books.author.Author;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class BookExportServiceTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private BookExportService underTest;
+
+    @BeforeEach
+    void setUp() {
+        this.underTest = new BookExportService(this.bookRepository, this.objectMapper);
+
+        final var greg = Author.builder()
+                .firstname("Greg L.")
+                .lastname("Turnsquist")
+                .email("turnquist@hotmail.com")
+                .build();
+        this.entityManager.persist(greg);
+        this.entityManager.persist(Book.builder()
+                .title("Learning Spring Boot 3.0")
+                .summary("Simplify the development of production grade application with java and spring boot")
+                .pages(248)
+                .authors(Set.of(greg))
+                .build());
+        this.entityManager.persist(Book.builder()
+                .title("Hacking with Spring Boot 2.3")
+                .summary("Spring Boot 2.3 is the hottest ticket in town...")
+                .pages(428)
+                .authors(Set.of(greg))
+                .build());
+        this.entityManager.flush();
+    }
+
+    @Test
+    void whenExportingCatalog_thenWriteOneJsonDocumentPerLineInIdOrder() throws Exception {
+        // Given
+        final var out = new ByteArrayOutputStream();
+        // When
+        final var exported = this.underTest.exportAll(out);
+        // Then
+        final var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(2L);
+        assertThat(lines).hasSize(2);
+        assertThat(this.objectMapper.readTree(lines[0]).get("title").asText()).isEqualTo("Learning Spring Boot 3.0");
+        assertThat(this.objectMapper.readTree(lines[1]).get("title").asText()).isEqualTo("Hacking with Spring Boot 2.3");
+    }
+}
@@ -0,0 +1,115 @@
+package com.workbeattalent.books.book;
+
+import com.workbeattalent.books.author.Author;
+import com.workbeattalent.books.author.AuthorRepository;
+import com.workbeattalent.books.dto.BookPatchRequest;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the SQL written by a partial update: only the changed columns and only the changed join rows.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.workbeattalent.books.book.BookPatchStatementTest$RecordingStatementInspector"
+})
+class BookPatchStatementTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Author greg;
+    private Author john;
+    private Author jane;
+    private Book book;
+
+    public static class RecordingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(final String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        // One transaction, so that the book references managed authors
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.greg = this.authorRepository.save(Author.builder().firstname("Greg L.").lastname("Turnquist").email("greg@mail.org").build());
+            this.john = this.authorRepository.save(Author.builder().firstname("John").lastname("Doe").email("john@mail.org").build());
+            this.jane = this.authorRepository.save(Author.builder().firstname("Jane").lastname("Doe").email("jane@mail.org").build());
+            this.book = this.bookRepository.save(Book.builder()
+                    .title("Learning Spring Boot 3.0")
+                    .pages(248)
+                    .summary("Simplify the development of production grade application")
+                    .authors(Set.of(this.greg, this.john))
+                    .build());
+        });
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.bookRepository.deleteAll();
+        this.authorRepository.deleteAll();
+    }
+
+    @Test
+    void whenPatchingTitleOnly_thenSelectBookOnceAndIssueSingleUpdateOfChangedColumns() {
+        // When
+        final var response = this.bookService.patch(this.book.getId(), new BookPatchRequest("Learning Spring Boot 4.0", null, null, null), null);
+        // Then
+        assertThat(response.version()).isEqualTo(this.book.getVersion() + 1);
+        // The book with its summary, which the re-index needs, the update, the authors of the response
+        final var statements = RecordingStatementInspector.STATEMENTS.stream().map(String::toLowerCase).toList();
+        assertThat(statements).hasSize(3);
+        assertThat(statements.getFirst()).startsWith("select ").contains("summary", " from book ");
+        assertThat(statements.get(1)).startsWith("update book set ").contains("title").doesNotContain("summary", "pages");
+        assertThat(statements.get(2)).startsWith("select ").contains(" from books_authors ");
+    }
+
+    @Test
+    void whenPatchingAuthors_thenWriteOnlyTheChangedJoinRows() {
+        // When
+        this.bookService.patch(this.book.getId(), new BookPatchRequest(null, null, null, Set.of(this.john.getId(), this.jane.getId())), null);
+        // Then
+        final var writes = writes();
+        assertThat(writes).filteredOn(sql -> sql.startsWith("delete from books_authors"))
+                .singleElement()
+                .satisfies(sql -> assertThat(sql).contains("author_id"));
+        assertThat(writes).filteredOn(sql -> sql.startsWith("insert into books_authors")).hasSize(1);
+        assertThat(writes).noneMatch(sql -> sql.startsWith("insert into book ") || sql.startsWith("delete from book "));
+        // findAll fetches the authors with the book, the association is lazy outside of a transaction
+        assertThat(this.bookRepository.findAll().getFirst().getAuthors())
+                .extracting(Author::getId)
+                .containsExactlyInAnyOrder(this.john.getId(), this.jane.getId());
+    }
+
+    private static List<String> writes() {
+        return RecordingStatementInspector.STATEMENTS.stream()
+                .map(String::toLowerCase)
+                .filter(sql -> sql.startsWith("insert") || sql.startsWith("update") || sql.startsWith("delete"))
+                .toList();
+    }
+}
@@ -1,12 +1,18 @@
 package com.workbeattalent.books.book;
 
 import com.workbeattalent.books.author.Author;
+import com.workbeattalent.books.dto.AuthorSummary;
+import com.workbeattalent.books.dto.BookResponse;
 import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -40,14 +46,14 @@ class BookRepositoryTest {
                 .title("Learning Spring Boot 3.0")
                 .summary("Simplify the development of production grade application with java and spring boot")
                 .pages(248)
-                .authors(Set.of(greg))
+                .authors(new HashSet<>(Set.of(greg)))
                 .build();
 
         final var book2 = Book.builder()
                 .title("Master Blockchain")
                 .summary("A technical guide for the inner working of blockchain")
                 .pages(747)
-                .authors(Set.of(imram))
+                .authors(new HashSet<>(Set.of(imram)))
                 .build();
 
         this.entityManager.persist(greg);
@@ -58,6 +64,24 @@ class BookRepositoryTest {
         this.entityManager.flush();
     }
 
+    @Test
+    void givenMoreBooksThanOneStatementBinds_whenListingWithAuthors_thenReadAuthorsInChunks() {
+        // Given: with the two books of setUp, three chunks of authors
+        for (int i = 0; i < 2 * BookProjectionRepositoryImpl.IDS_PER_STATEMENT; i++) {
+            this.entityManager.persist(Book.builder().title("Spring Book " + i).summary("").pages(100).authors(new HashSet<>(Set.of(greg))).build());
+        }
+        this.entityManager.flush();
+        this.entityManager.clear();
+        final var statistics = this.entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        // When
+        final var books = this.underTest.findProjectedPage(BookField.ALL, 0L, 2 * BookProjectionRepositoryImpl.IDS_PER_STATEMENT + 2);
+        // Then
+        assertThat(books).hasSize(2 * BookProjectionRepositoryImpl.IDS_PER_STATEMENT + 2);
+        assertThat(books).allSatisfy(book -> assertThat(book.authors()).hasSize(1));
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(4);
+    }
+
     @Test
     void whenFindingBooksByTitleIgnoringCase_thenReturnTheListOfBooks() {
         // Given
@@ -78,6 +102,27 @@ class BookRepositoryTest {
         assertThat(response).isEmpty();
     }
 
+    @Test
+    void whenSeekingAfterFirstBook_thenReturnFollowingBooksInIdOrder() {
+        // Given
+        final var all = this.underTest.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10));
+        // When
+        final var response = this.underTest.findByIdGreaterThanOrderByIdAsc(all.getFirst().getId(), Limit.of(10));
+        // Then
+        assertThat(all).hasSize(2);
+        assertThat(response).hasSize(1);
+        assertThat(response.getFirst().getTitle()).isEqualTo("Master Blockchain");
+    }
+
+    @Test
+    void whenSeekingWithLimit_thenReturnAtMostLimitBooks() {
+        // When
+        final var response = this.underTest.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1));
+        // Then
+        assertThat(response).hasSize(1);
+        assertThat(response.getFirst().getTitle()).isEqualTo("Learning Spring Boot 3.0");
+    }
+
     @Test
     void whenFindingAuthorByItsNames_thenReturnItsListOfBooks() {
         // Given
@@ -89,7 +134,7 @@ class BookRepositoryTest {
                 .build();
         this.underTest.save(book3);
         // When
-        final var response = this.underTest.findByAuthors_FirstnameIgnoreCaseOrAuthors_LastnameIgnoreCase(greg.getFirstname(), greg.getLastname());
+        final var response = this.underTest.findByAuthorNormalizedName(Author.normalizeName(greg.getFirstname()), Author.normalizeName(greg.getLastname()));
         // Then
         assertThat(response.size()).isEqualTo(2);
     }
@@ -100,8 +145,125 @@ class BookRepositoryTest {
         final var fakeFirstname = "Bo";
         final var fakeLastname = "Joe";
         // When
-        final var result = this.underTest.findByAuthors_FirstnameIgnoreCaseOrAuthors_LastnameIgnoreCase(fakeFirstname, fakeLastname);
+        final var result = this.underTest.findByAuthorNormalizedName(Author.normalizeName(fakeFirstname), Author.normalizeName(fakeLastname));
         // Then
         assertThat(result).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenFindingAuthorByNamesWithOtherCaseAndAccents_thenReturnItsListOfBooks() {
+        // Given
+        final var firstname = Author.normalizeName("GRÉG  l");
+        // When
+        final var response = this.underTest.findByAuthorNormalizedName(firstname, null);
+        // Then
+        assertThat(response).extracting(Book::getTitle).containsExactly("Learning Spring Boot 3.0");
+    }
+
+    @Test
+    void whenFindingAuthorByLastnameOnly_thenReturnItsListOfBooks() {
+        // When
+        final var response = this.underTest.findByAuthorNormalizedName(Author.normalizeName("Nobody"), Author.normalizeName("bachir"));
+        // Then
+        assertThat(response).extracting(Book::getTitle).containsExactly("Master Blockchain");
+    }
+
+    @Test
+    void whenBookIsUpdated_thenItsVersionIsIncremented() {
+        // Given
+        final var book = this.underTest.findAll().getFirst();
+        final var initialVersion = this.underTest.findVersionById(book.getId()).orElseThrow();
+        // When
+        book.setTitle("Learning Spring Boot 3.1");
+        this.underTest.saveAndFlush(book);
+        // Then
+        assertThat(this.underTest.findVersionById(book.getId())).contains(initialVersion + 1);
+    }
+
+    @Test
+    void whenLookingUpVersionOfUnknownBook_thenReturnEmpty() {
+        assertThat(this.underTest.findVersionById(-1L)).isEmpty();
+    }
+
+    @Test
+    void whenDeletingBooksById_thenRemoveBooksAndTheirAuthorLinks() {
+        // Given
+        final var ids = this.underTest.findBookIdsByAuthorId(greg.getId(), 0L, 10);
+        // When
+        final var deleted = this.underTest.deleteAllByIdIn(ids);
+        // Then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(this.underTest.findAll()).extracting(Book::getTitle).containsExactly("Master Blockchain");
+        final var links = (Number) this.entityManager
+                .createNativeQuery("select count(*) from books_authors where author_id = :authorId")
+                .setParameter("authorId", greg.getId())
+                .getSingleResult();
+        assertThat(links.longValue()).isZero();
+    }
+
+    @Test
+    void whenDeletingUnknownBook_thenNoRowIsAffected() {
+        assertThat(this.underTest.deleteAllByIdIn(Set.of(-1L))).isZero();
+    }
+
+    @Test
+    void whenDeletingSingleBookById_thenCountIt() {
+        // Given
+        final var bookId = this.underTest.findBookIdsByAuthorId(greg.getId(), 0L, 10).getFirst();
+        // When // Then
+        assertThat(this.underTest.deleteBookById(bookId)).isEqualTo(1);
+        assertThat(this.underTest.deleteBookById(bookId)).isZero();
+        final var links = (Number) this.entityManager
+                .createNativeQuery("select count(*) from books_authors where book_id = :bookId")
+                .setParameter("bookId", bookId)
+                .getSingleResult();
+        assertThat(links.longValue()).isZero();
+    }
+
+    @Test
+    void whenPagingBookIdsOfAuthor_thenReadThemFromJoinTableAfterCursor() {
+        // Given
+        final var extra = Book.builder()
+                .title("Learning Spring Boot 4.0")
+                .summary("Second edition")
+                .pages(300)
+                .authors(Set.of(greg))
+                .build();
+        this.entityManager.persist(extra);
+        this.entityManager.flush();
+        final var first = this.underTest.findBookIdsByAuthorId(greg.getId(), 0L, 1);
+        // When
+        final var next = this.underTest.findBookIdsByAuthorId(greg.getId(), first.getFirst(), 10);
+        // Then
+        assertThat(first).hasSize(1);
+        assertThat(next).containsExactly(extra.getId());
+        assertThat(this.underTest.countBooksByAuthorId(greg.getId())).isEqualTo(2);
+        assertThat(this.underTest.findByIdInOrderByIdAsc(next)).extracting(Book::getTitle).containsExactly("Learning Spring Boot 4.0");
+    }
+
+    @Test
+    void whenReadingProjectedPage_thenFillOnlyRequestedFields() {
+        // When
+        final var response = this.underTest.findProjectedPage(EnumSet.of(BookField.ID, BookField.TITLE), 0L, 10);
+        // Then
+        assertThat(response).extracting(BookResponse::title).containsExactly("Learning Spring Boot 3.0", "Master Blockchain");
+        assertThat(response).allSatisfy(book -> {
+            assertThat(book.id()).isNotNull();
+            assertThat(book.summary()).isNull();
+            assertThat(book.authors()).isNull();
+            assertThat(book.version()).isNull();
+        });
+    }
+
+    @Test
+    void whenReadingProjectedBooksByTitleWithAuthors_thenJoinTheirSummaries() {
+        // When
+        final var response = this.underTest.findProjectedByTitleContaining(EnumSet.of(BookField.ID, BookField.PAGES, BookField.AUTHORS), "spring");
+        // Then
+        assertThat(response).singleElement().satisfies(book -> {
+            assertThat(book.pages()).isEqualTo(248);
+            assertThat(book.title()).isNull();
+            assertThat(book.authors()).extracting(AuthorSummary::id).containsExactly(greg.getId());
+        });
+    }
+}
@@ -0,0 +1,118 @@
+package com.workbeattalent.books.book;
+
+import com.workbeattalent.books.author.Author;
+import com.workbeattalent.books.author.AuthorRepository;
+import com.workbeattalent.books.configs.cache.CacheConfig;
+import com.workbeattalent.books.dto.BookRequest;
+import com.workbeattalent.books.support.SqlStatements;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Authors and the authors of a book are served from the second-level cache once loaded.
+ */
+@SpringBootTest
+class BookSecondLevelCacheTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Author greg;
+    private Author john;
+
+    @BeforeEach
+    void setUp() {
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.greg = this.authorRepository.save(Author.builder().firstname("Greg L.").lastname("Turnquist").email("greg@mail.org").build());
+            this.john = this.authorRepository.save(Author.builder().firstname("John").lastname("Doe").email("john@mail.org").build());
+        });
+        // The regions are shared by every test context of the JVM, and JPA's evictAll leaves collections in place
+        this.entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.bookRepository.deleteAll();
+        this.authorRepository.deleteAll();
+    }
+
+    @Test
+    void givenAuthorsLoadedOnce_whenStoringAnotherBook_thenDoNotSelectThemAgain() throws Exception {
+        // Given
+        this.bookService.store(bookOf("Learning Spring Boot 3.0"));
+
+        // When
+        final var sql = SqlStatements.during(() -> this.bookService.store(bookOf("Learning Spring Boot 4.0")));
+
+        // Then
+        assertThat(sql.shapes().keySet()).as(sql.describe()).noneMatch(shape -> shape.contains(" from author "));
+    }
+
+    @Test
+    void givenBooksReadOnce_whenReadingThemAgain_thenOnlySelectTheBooks() throws Exception {
+        // Given
+        this.bookService.store(bookOf("Learning Spring Boot 3.0"));
+        this.bookService.store(bookOf("Spring Security in Action"));
+        final var first = SqlStatements.during(() -> this.bookService.findPage(null, 10));
+
+        // When
+        final var second = SqlStatements.during(() -> assertThat(this.bookService.findPage(null, 10).content())
+                .allSatisfy(book -> assertThat(book.authors()).hasSize(2)));
+
+        // Then
+        assertThat(first.statements()).as(first.describe()).isEqualTo(2);
+        assertThat(second.statements()).as(second.describe()).isEqualTo(1);
+        final var statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertThat(statistics.getDomainDataRegionStatistics(CacheConfig.BOOK_AUTHORS_REGION).getHitCount()).isPositive();
+        assertThat(this.meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", CacheConfig.AUTHORS_REGION, "result", "hit")
+                .functionCounter()
+                .count()).isPositive();
+    }
+
+    @Test
+    void givenBooksLoadedOnce_whenDeletingOneById_thenTheOthersKeepTheirCachedAuthors() {
+        // Given
+        final var deleted = this.bookService.store(bookOf("Learning Spring Boot 3.0")).id();
+        final var kept = this.bookService.store(bookOf("Spring Security in Action")).id();
+        this.bookService.findPage(null, 10);
+        final var cache = this.entityManagerFactory.unwrap(SessionFactory.class).getCache();
+
+        // When
+        this.bookService.delete(deleted);
+
+        // Then: the bulk delete does not clear the region, the deleted book's entry is left to the size bound
+        assertThat(this.bookRepository.existsById(deleted)).isFalse();
+        assertThat(cache.containsCollection(Book.class.getName() + ".authors", kept)).isTrue();
+    }
+
+    private BookRequest bookOf(final String title) {
+        return new BookRequest(null, title, 300, "Summary of " + title, Set.of(this.greg.getId(), this.john.getId()));
+    }
+}
@@ -0,0 +1,151 @@
+package com.workbeattalent.books.book;
+
+import com.workbeattalent.books.author.Author;
+import com.workbeattalent.books.author.AuthorService;
+import com.workbeattalent.books.configs.cache.CacheConfig;
+import com.workbeattalent.books.dto.BookRequest;
+import com.workbeattalent.books.dto.BookResponse;
+import com.workbeattalent.books.search.BookSearchIndex;
+import com.workbeattalent.books.search.TitleAutocomplete;
+import com.workbeattalent.books.util.EntityDtoMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+class BookServiceCachingTest {
+
+    @Configuration
+    @Import({CacheConfig.class, BookService.class})
+    static class Config {
+    }
+
+    @MockitoBean
+    private BookRepository bookRepository;
+
+    @MockitoBean
+    private AuthorService authorService;
+
+    @MockitoBean
+    private EntityDtoMapper mapper;
+
+    @MockitoBean
+    private BookSearchIndex searchIndex;
+
+    @MockitoBean
+    private TitleAutocomplete titleAutocomplete;
+
+    @Autowired
+    private BookService underTest;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        this.cacheManager.getCache(CacheConfig.BOOKS).clear();
+        this.book = Book.builder().id(1L).title("Learning Spring Boot 3.0").pages(248).summary("").build();
+        when(this.bookRepository.findWithSummaryById(1L)).thenReturn(Optional.of(this.book));
+        when(this.mapper.fromBook(any())).thenReturn(new BookResponse(1L, "Learning Spring Boot 3.0", 248, "", Set.of(), 0L));
+        when(this.bookRepository.findVersionById(1L)).thenReturn(Optional.of(0L));
+    }
+
+    @Test
+    void whenFindingSameBookTwice_thenReadDatabaseOnce() {
+        // When
+        final var first = this.underTest.findById(1L);
+        final var second = this.underTest.findById(1L);
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(this.bookRepository, times(1)).findWithSummaryById(1L);
+    }
+
+    @Test
+    void givenCachedBookOlderThanStoredOne_whenFindingBook_thenReadDatabaseAgain() {
+        // Given: a read that raced an update cached the book as it was before
+        this.underTest.findById(1L);
+        when(this.bookRepository.findVersionById(1L)).thenReturn(Optional.of(1L));
+        when(this.mapper.fromBook(any())).thenReturn(new BookResponse(1L, "Learning Spring Boot 4.0", 300, "", Set.of(), 1L));
+        // When
+        final var first = this.underTest.findById(1L);
+        final var second = this.underTest.findById(1L);
+        // Then
+        assertThat(first.version()).isEqualTo(1L);
+        assertThat(second).isSameAs(first);
+        verify(this.bookRepository, times(2)).findWithSummaryById(1L);
+    }
+
+    @Test
+    void whenBookIsUpdated_thenNextReadGoesToDatabase() {
+        // Given
+        final var authorId = UUID.randomUUID();
+        this.underTest.findById(1L);
+        when(this.authorService.findAll(Set.of(authorId))).thenReturn(Set.of(Author.builder().id(authorId).build()));
+        when(this.bookRepository.findById(1L)).thenReturn(Optional.of(this.book));
+        when(this.bookRepository.saveAndFlush(any())).thenReturn(this.book);
+        when(this.mapper.fromBook(any())).thenReturn(new BookResponse(1L, "Learning Spring Boot 4.0", 300, "", Set.of(), 1L));
+        // When
+        this.underTest.update(1L, new BookRequest(1L, "Learning Spring Boot 4.0", 300, "", Set.of(authorId)), null);
+        this.underTest.findById(1L);
+        // Then: the cached read, then a fresh read after eviction, the update loads the entity on its own
+        verify(this.bookRepository, times(2)).findWithSummaryById(1L);
+        verify(this.bookRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void whenBookIsDeleted_thenItIsEvictedAndOtherBooksStayCached() {
+        // Given
+        final var other = Book.builder().id(2L).title("Master Blockchain").pages(747).summary("").build();
+        when(this.bookRepository.findWithSummaryById(2L)).thenReturn(Optional.of(other));
+        when(this.bookRepository.findVersionById(2L)).thenReturn(Optional.of(0L));
+        this.underTest.findById(1L);
+        this.underTest.findById(2L);
+        when(this.bookRepository.deleteBookById(1L)).thenReturn(1);
+        // When
+        this.underTest.delete(1L);
+        // Then
+        verify(this.bookRepository, times(1)).findWithSummaryById(2L);
+        assertThat(this.cacheManager.getCache(CacheConfig.BOOKS).get(1L)).isNull();
+        assertThat(this.cacheManager.getCache(CacheConfig.BOOKS).get(2L)).isNotNull();
+    }
+
+    @Test
+    void givenActiveTransaction_whenBookIsUpdated_thenEvictOnlyAfterCommit() {
+        // Given
+        final var authorId = UUID.randomUUID();
+        this.underTest.findById(1L);
+        when(this.authorService.findAll(Set.of(authorId))).thenReturn(Set.of(Author.builder().id(authorId).build()));
+        when(this.bookRepository.findById(1L)).thenReturn(Optional.of(this.book));
+        when(this.bookRepository.saveAndFlush(any())).thenReturn(this.book);
+        when(this.mapper.fromBook(any())).thenReturn(new BookResponse(1L, "Learning Spring Boot 4.0", 300, "", Set.of(), 1L));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            this.underTest.update(1L, new BookRequest(1L, "Learning Spring Boot 4.0", 300, "", Set.of(authorId)), null);
+            // Then: reads racing the uncommitted update still get the cached book, not a re-read of the old row
+            assertThat(this.cacheManager.getCache(CacheConfig.BOOKS).get(1L)).isNotNull();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(this.cacheManager.getCache(CacheConfig.BOOKS).get(1L)).isNull();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
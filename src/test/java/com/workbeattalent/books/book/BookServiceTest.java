@@ -2,20 +2,34 @@ package com.workbeattalent.books.book;
 
 import com.workbeattalent.books.author.Author;
 import com.workbeattalent.books.author.AuthorService;
+import com.workbeattalent.books.configs.cache.CacheConfig;
 import com.workbeattalent.books.dto.AuthorRequest;
+import com.workbeattalent.books.dto.AuthorSummary;
+import com.workbeattalent.books.dto.BookPatchRequest;
 import com.workbeattalent.books.dto.BookRequest;
 import com.workbeattalent.books.dto.BookResponse;
+import com.workbeattalent.books.dto.TitleSuggestion;
 import com.workbeattalent.books.exceptions.BookManagementInvalidException;
+import com.workbeattalent.books.exceptions.BookVersionMismatchException;
 import com.workbeattalent.books.exceptions.EntityElementNotFoundException;
+import com.workbeattalent.books.search.BookSearchIndex;
+import com.workbeattalent.books.search.SearchHit;
+import com.workbeattalent.books.search.SearchHits;
+import com.workbeattalent.books.search.TitleAutocomplete;
 import com.workbeattalent.books.util.EntityDtoMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -38,12 +52,18 @@ class BookServiceTest {
     @Mock
     private AuthorService authorService;
 
+    @Mock
+    private BookSearchIndex searchIndex;
+
+    @Mock
+    private TitleAutocomplete titleAutocomplete;
+
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private BookService underTest;
 
-    @Captor
-    private ArgumentCaptor<Book> bookCaptor;
-
     @Test
     void whenStoringNewBookWithExistingAuthor_thenReturnStoredBook() {
         // Given
@@ -74,7 +94,8 @@ class BookServiceTest {
                 "Learning Spring Boot 3.0",
                 248,
                 "Simplify the development of production grade application with java and spring boot",
-                Set.of(greg));
+                Set.of(new AuthorSummary(greg.getId(), greg.getFirstname(), greg.getLastname())),
+                0L);
 
         when(this.mapper.toBook(any())).thenReturn(book1);
 
@@ -85,8 +106,10 @@ class BookServiceTest {
         // When
         final var response = this.underTest.store(bookRequest);
         // Then
-        assertThat(response.authors().iterator().next().getFirstname()).isEqualTo(greg.getFirstname());
+        assertThat(response.authors().iterator().next().firstname()).isEqualTo(greg.getFirstname());
         assertThat(response.title()).isEqualTo(bookRequest.title());
+        verify(this.searchIndex, times(1)).index(book1.getId(), book1.getTitle(), book1.getSummary());
+        verify(this.titleAutocomplete, times(1)).put(book1.getId(), book1.getTitle());
     }
 
     @Test
@@ -129,26 +152,30 @@ class BookServiceTest {
                 "Learning Spring Boot 3.0",
                 248,
                 "Simplify the development of production grade application with java and spring boot",
-                Set.of(greg));
+                Set.of(greg),
+                0L);
         final var book1Response = new BookResponse(
                 1L,
                 "Learning Spring Boot 3.0",
                 248,
                 "Simplify the development of production grade application with java and spring boot",
-                Set.of(greg));
+                Set.of(new AuthorSummary(greg.getId(), greg.getFirstname(), greg.getLastname())),
+                0L);
 
         final var book2 = new Book(
                 2L,
                 "Master Blockchain",
                 747,
                 "A technical guide for the inner working of blockchain",
-                Set.of(imram));
+                Set.of(imram),
+                0L);
         final var book2Response = new BookResponse(
                 2L,
                 "Master Blockchain",
                 747,
                 "A technical guide for the inner working of blockchain",
-                Set.of(imram));
+                Set.of(new AuthorSummary(imram.getId(), imram.getFirstname(), imram.getLastname())),
+                0L);
 
         when(this.bookRepository.findAll()).thenReturn(List.of(book1, book2));
         when(this.mapper.fromBook(book1)).thenReturn(book1Response);
@@ -161,6 +188,129 @@ class BookServiceTest {
         assertThat(response.get(1).title()).isEqualTo(book2.getTitle());
     }
 
+    @Test
+    void whenMoreBooksThanLimitExist_thenReturnPageWithNextCursor() {
+        // Given
+        final var book1 = Book.builder().id(1L).title("Learning Spring Boot 3.0").pages(248).summary("").build();
+        final var book2 = Book.builder().id(2L).title("Master Blockchain").pages(747).summary("").build();
+        final var book3 = Book.builder().id(3L).title("Spring Security").pages(300).summary("").build();
+        when(this.bookRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3))).thenReturn(List.of(book1, book2, book3));
+        when(this.mapper.fromBook(book1)).thenReturn(new BookResponse(1L, book1.getTitle(), 248, "", Set.of(), 0L));
+        when(this.mapper.fromBook(book2)).thenReturn(new BookResponse(2L, book2.getTitle(), 747, "", Set.of(), 0L));
+        // When
+        final var page = this.underTest.findPage(null, 2);
+        // Then
+        assertThat(page.content()).hasSize(2);
+        assertThat(page.size()).isEqualTo(2);
+        assertThat(page.nextCursor()).isEqualTo(2L);
+        verify(this.mapper, never()).fromBook(book3);
+    }
+
+    @Test
+    void whenLastPageIsReached_thenReturnPageWithoutNextCursor() {
+        // Given
+        final var book3 = Book.builder().id(3L).title("Spring Security").pages(300).summary("").build();
+        when(this.bookRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(BookService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(book3));
+        when(this.mapper.fromBook(book3)).thenReturn(new BookResponse(3L, book3.getTitle(), 300, "", Set.of(), 0L));
+        // When
+        final var page = this.underTest.findPage(2L, null);
+        // Then
+        assertThat(page.content()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void whenRequestedLimitExceedsMaximum_thenCapPageSize() {
+        // Given
+        when(this.bookRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(BookService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(List.of());
+        // When
+        final var page = this.underTest.findPage(null, 10_000);
+        // Then
+        assertThat(page.content()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void givenFields_whenRequestingPage_thenReadOnlyThoseFields() {
+        // Given
+        when(this.bookRepository.findProjectedPage(EnumSet.of(BookField.ID, BookField.TITLE, BookField.AUTHORS), 0L, 2))
+                .thenReturn(List.of(new BookResponse(1L, "Spring Security", null, null, Set.of(), null),
+                        new BookResponse(2L, "Spring in Action", null, null, Set.of(), null)));
+        // When
+        final var page = this.underTest.findPage(null, 1, " title, authors ");
+        // Then
+        assertThat(page.content()).extracting(BookResponse::title).containsExactly("Spring Security");
+        assertThat(page.nextCursor()).isEqualTo(1L);
+        verify(this.bookRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+
+    @Test
+    void givenUnknownField_whenRequestingPage_thenThrowBookManagementInvalidException() {
+        // When // Then
+        assertThatThrownBy(() -> this.underTest.findPage(null, 10, "title,isbn"))
+                .isInstanceOf(BookManagementInvalidException.class)
+                .hasMessageStartingWith("Unknown book field: isbn");
+        verifyNoInteractions(this.bookRepository);
+    }
+
+    @Test
+    void whenAuthorHasMoreBooksThanLimit_thenReturnPageWithTotalAndNextCursor() {
+        // Given
+        final var authorId = UUID.randomUUID();
+        final var book1 = Book.builder().id(1L).title("Learning Spring Boot 3.0").pages(248).summary("").build();
+        final var book2 = Book.builder().id(2L).title("Spring Security").pages(300).summary("").build();
+        when(this.bookRepository.countBooksByAuthorId(authorId)).thenReturn(3L);
+        when(this.bookRepository.findBookIdsByAuthorId(authorId, 0L, 3)).thenReturn(List.of(1L, 2L, 3L));
+        when(this.bookRepository.findByIdInOrderByIdAsc(List.of(1L, 2L))).thenReturn(List.of(book1, book2));
+        when(this.mapper.fromBook(book1)).thenReturn(new BookResponse(1L, book1.getTitle(), 248, "", Set.of(), 0L));
+        when(this.mapper.fromBook(book2)).thenReturn(new BookResponse(2L, book2.getTitle(), 300, "", Set.of(), 0L));
+        // When
+        final var page = this.underTest.findPageByAuthor(authorId, null, 2);
+        // Then
+        assertThat(page.content()).extracting(BookResponse::id).containsExactly(1L, 2L);
+        assertThat(page.nextCursor()).isEqualTo(2L);
+        assertThat(page.total()).isEqualTo(3L);
+        verify(this.authorService, never()).exists(any());
+    }
+
+    @Test
+    void whenAuthorHasNoBook_thenReturnEmptyPage() {
+        // Given
+        final var authorId = UUID.randomUUID();
+        when(this.bookRepository.countBooksByAuthorId(authorId)).thenReturn(0L);
+        when(this.authorService.exists(authorId)).thenReturn(true);
+        // When
+        final var page = this.underTest.findPageByAuthor(authorId, null, null);
+        // Then
+        assertThat(page.content()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+        assertThat(page.total()).isZero();
+        verify(this.bookRepository, never()).findBookIdsByAuthorId(any(), anyLong(), any());
+    }
+
+    @Test
+    void whenPagingBooksOfNotExistingAuthor_thenThrowEntityElementNotFoundException() {
+        // Given
+        final var fakeAuthorId = UUID.randomUUID();
+        when(this.bookRepository.countBooksByAuthorId(fakeAuthorId)).thenReturn(0L);
+        when(this.authorService.exists(fakeAuthorId)).thenReturn(false);
+        // When // Then
+        assertThatThrownBy(() -> this.underTest.findPageByAuthor(fakeAuthorId, null, null))
+                .isInstanceOf(EntityElementNotFoundException.class)
+                .hasMessage("Unable to fetch author with ID: %s", fakeAuthorId);
+    }
+
+    @Test
+    void whenRequestedLimitIsNotPositive_thenThrowBookManagementInvalidException() {
+        // When // Then
+        assertThatThrownBy(() -> this.underTest.findPage(null, 0))
+                .isInstanceOf(BookManagementInvalidException.class)
+                .hasMessage("Page limit should be at least 01");
+        verify(this.bookRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+
     @Test
     void whenFindingBooksByTitleContainingSomeKeyword_thenReturnListOfBooks() {
         // Given
@@ -175,13 +325,15 @@ class BookServiceTest {
                 "Learning Spring Boot 3.0",
                 248,
                 "Simplify the development of production grade application with java and spring boot",
-                Set.of(greg));
+                Set.of(greg),
+                0L);
         final var bookResponse = new BookResponse(
                 1L,
                 "Learning Spring Boot 3.0",
                 248,
                 "Simplify the development of production grade application with java and spring boot",
-                Set.of(greg));
+                Set.of(new AuthorSummary(greg.getId(), greg.getFirstname(), greg.getLastname())),
+                0L);
 
         when(this.bookRepository.findByTitleContainingIgnoreCaseOrderByAuthors_FirstnameAsc(any()))
                 .thenReturn(List.of(book1));
@@ -196,6 +348,71 @@ class BookServiceTest {
         assertThat(response.getFirst().summary()).isEqualTo(book1.getSummary());
     }
 
+    @Test
+    void whenSearchingFullText_thenReturnBooksInRankOrder() {
+        // Given
+        final var book1 = Book.builder().id(1L).title("Learning Spring Boot 3.0").pages(248).summary("").build();
+        final var book3 = Book.builder().id(3L).title("Hacking with Java").pages(300).summary("Spring").build();
+        when(this.searchIndex.search("spring", 0, 2))
+                .thenReturn(new SearchHits(List.of(new SearchHit(3L, 2.0), new SearchHit(1L, 1.0)), 5));
+        when(this.bookRepository.findByIdInOrderByIdAsc(List.of(3L, 1L))).thenReturn(List.of(book1, book3));
+        when(this.mapper.fromBook(book1)).thenReturn(new BookResponse(1L, book1.getTitle(), 248, "", Set.of(), 0L));
+        when(this.mapper.fromBook(book3)).thenReturn(new BookResponse(3L, book3.getTitle(), 300, "Spring", Set.of(), 0L));
+        // When
+        final var result = this.underTest.search("spring", 0, 2);
+        // Then
+        assertThat(result.content()).extracting(BookResponse::id).containsExactly(3L, 1L);
+        assertThat(result.total()).isEqualTo(5);
+        assertThat(result.page()).isZero();
+    }
+
+    @Test
+    void givenFields_whenSearchingFullText_thenReadOnlyThoseFieldsInRankOrder() {
+        // Given
+        when(this.searchIndex.search("spring", 0, 2))
+                .thenReturn(new SearchHits(List.of(new SearchHit(3L, 2.0), new SearchHit(1L, 1.0)), 5));
+        when(this.bookRepository.findProjectedByIds(EnumSet.of(BookField.ID, BookField.TITLE), List.of(3L, 1L)))
+                .thenReturn(List.of(new BookResponse(1L, "Learning Spring Boot 3.0", null, null, null, null),
+                        new BookResponse(3L, "Hacking with Java", null, null, null, null)));
+        // When
+        final var result = this.underTest.search("spring", 0, 2, "title");
+        // Then
+        assertThat(result.content()).extracting(BookResponse::id).containsExactly(3L, 1L);
+        assertThat(result.content()).extracting(BookResponse::summary).containsOnlyNulls();
+        verify(this.bookRepository, never()).findByIdInOrderByIdAsc(any());
+        verify(this.mapper, never()).fromBook(any());
+    }
+
+    @Test
+    void whenSearchingFullTextWithNegativePage_thenThrowBookManagementInvalidException() {
+        // When // Then
+        assertThatThrownBy(() -> this.underTest.search("spring", -1, 10))
+                .isInstanceOf(BookManagementInvalidException.class)
+                .hasMessage("Page number should not be negative");
+        verify(this.searchIndex, never()).search(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void whenSearchingFullTextWithPageBeyondIntRange_thenThrowBookManagementInvalidException() {
+        // When // Then
+        assertThatThrownBy(() -> this.underTest.search("spring", Integer.MAX_VALUE, 10))
+                .isInstanceOf(BookManagementInvalidException.class)
+                .hasMessage("Page number is too large");
+        verify(this.searchIndex, never()).search(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void whenSuggestingTitlesAboveMaximumLimit_thenCapLimit() {
+        // Given
+        when(this.titleAutocomplete.suggest("spr", BookService.MAX_SUGGESTIONS))
+                .thenReturn(List.of(new TitleSuggestion(2L, "Spring Security")));
+        // When
+        final var suggestions = this.underTest.suggestTitles("spr", 1_000);
+        // Then
+        assertThat(suggestions).extracting(TitleSuggestion::title).containsExactly("Spring Security");
+        verifyNoInteractions(this.bookRepository);
+    }
+
     @Test
     void whenFindingByExistingAuthorName_thenReturnRelatedBooks() {
         // Given
@@ -219,18 +436,20 @@ class BookServiceTest {
                 "Learning Spring Boot 3.0",
                 248,
                 "Simplify the development of production grade application with java and spring boot",
-                Set.of(greg));
+                Set.of(greg),
+                0L);
 
         final var bookResponse = new BookResponse(
                 1L,
                 "Learning Spring Boot 3.0",
                 248,
                 "Simplify the development of production grade application with java and spring boot",
-                Set.of(greg));
+                Set.of(new AuthorSummary(greg.getId(), greg.getFirstname(), greg.getLastname())),
+                0L);
 
         when(this.authorService.exists(any())).thenReturn(true);
         when(this.mapper.fromBook(book1)).thenReturn(bookResponse);
-        when(this.bookRepository.findByAuthors_FirstnameIgnoreCaseOrAuthors_LastnameIgnoreCase(firstname, lastname))
+        when(this.bookRepository.findByAuthorNormalizedName("greg l", "turnsquist"))
                 .thenReturn(List.of(book1));
         // When
         final var response = this.underTest.findByAuthorName(request);
@@ -262,7 +481,7 @@ class BookServiceTest {
         assertThatThrownBy(() -> this.underTest.findByAuthorName(request))
                 .isInstanceOf(BookManagementInvalidException.class)
                 .hasMessage("Author not found. So, unable to retrieve related books");
-        verify(this.bookRepository, never()).findByAuthors_FirstnameIgnoreCaseOrAuthors_LastnameIgnoreCase(anyString(), anyString());
+        verify(this.bookRepository, never()).findByAuthorNormalizedName(any(), any());
         verify(this.mapper, never()).fromBook(any(Book.class));
     }
 
@@ -280,14 +499,18 @@ class BookServiceTest {
                 "Learning Spring Boot 3.0",
                 248,
                 "Simplify the development of production grade application with java and spring boot",
-                Set.of(greg));
+                Set.of(greg),
+                0L);
         final var book1Response = new BookResponse(
                 1L,
                 "Learning Spring Boot 3.0",
                 248,
                 "Simplify the development of production grade application with java and spring boot",
-                Set.of(greg));
-        when(this.bookRepository.findById(anyLong())).thenReturn(Optional.of(book1));
+                Set.of(new AuthorSummary(greg.getId(), greg.getFirstname(), greg.getLastname())),
+                0L);
+        when(this.bookRepository.findVersionById(id)).thenReturn(Optional.of(0L));
+        when(this.cacheManager.getCache(CacheConfig.BOOKS)).thenReturn(new ConcurrentMapCache(CacheConfig.BOOKS));
+        when(this.bookRepository.findWithSummaryById(id)).thenReturn(Optional.of(book1));
         when(this.mapper.fromBook(book1)).thenReturn(book1Response);
         // When
         final var response = this.underTest.findById(id);
@@ -295,20 +518,21 @@ class BookServiceTest {
         assertThat(response.title()).isEqualTo(book1Response.title());
         assertThat(response.pages()).isEqualTo(book1Response.pages());
         assertThat(response.summary()).isEqualTo(book1Response.summary());
-        assertThat(response.authors().iterator().next().getFirstname()).isEqualTo(book1Response.authors().iterator().next().getFirstname());
-        assertThat(response.authors().iterator().next().getLastname()).isEqualTo(book1Response.authors().iterator().next().getLastname());
-        assertThat(response.authors().iterator().next().getEmail()).isEqualTo(book1Response.authors().iterator().next().getEmail());
+        assertThat(response.authors().iterator().next().firstname()).isEqualTo(book1Response.authors().iterator().next().firstname());
+        assertThat(response.authors().iterator().next().lastname()).isEqualTo(book1Response.authors().iterator().next().lastname());
+        assertThat(response.authors().iterator().next().id()).isEqualTo(book1Response.authors().iterator().next().id());
     }
 
     @Test
     void whenFindingNotExistingBookById_thenThrowEntityElementNotFoundException() {
         // Given
         final var fakeId = -1L;
-        when(this.bookRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(this.bookRepository.findVersionById(fakeId)).thenReturn(Optional.empty());
         // When // Then
         assertThatThrownBy(() -> this.underTest.findById(fakeId))
                 .isInstanceOf(EntityElementNotFoundException.class)
                 .hasMessage("No Book found with id: %s", fakeId);
+        verify(this.bookRepository, never()).findWithSummaryById(anyLong());
         verify(this.mapper, never()).fromBook(any(Book.class));
     }
 
@@ -316,47 +540,46 @@ class BookServiceTest {
     void whenBookExistsDeletingById_thenReturnTheIdOfDeletedBookId() {
         // Given
         final var id = 1L;
-        final var greg = Author.builder()
-                .firstname("Greg L.")
-                .lastname("Turnsquist")
-                .email("turnquist@hotmail.com")
-                .build();
-        final var book1 = new Book(
-                id,
-                "Learning Spring Boot 3.0",
-                248,
-                "Simplify the development of production grade application with java and spring boot",
-                Set.of(greg));
-        final var book1Response = new BookResponse(
-                id,
-                "Learning Spring Boot 3.0",
-                248,
-                "Simplify the development of production grade application with java and spring boot",
-                Set.of(greg));
-        when(this.bookRepository.findById(anyLong())).thenReturn(Optional.of(book1));
+        when(this.bookRepository.deleteBookById(id)).thenReturn(1);
         // When
         final var response = this.underTest.delete(id);
         // Then
-        verify(this.bookRepository, times(1)).delete(bookCaptor.capture());
-        final var capturedValue = bookCaptor.getValue();
-        assertThat(capturedValue.getTitle()).isEqualTo(book1.getTitle());
-        assertThat(capturedValue.getSummary()).isEqualTo(book1.getSummary());
-        assertThat(capturedValue.getPages()).isEqualTo(book1.getPages());
-        assertThat(capturedValue.getAuthors()).isEqualTo(book1.getAuthors());
-
         assertThat(response).isEqualTo(id);
+        verify(this.bookRepository, never()).findById(anyLong());
+        verify(this.searchIndex, times(1)).remove(id);
+        verify(this.titleAutocomplete, times(1)).remove(id);
+    }
+
+    @Test
+    void givenActiveTransaction_whenDeletingBook_thenUpdateSearchStructuresOnlyAfterCommit() {
+        // Given
+        final var id = 1L;
+        when(this.bookRepository.deleteBookById(id)).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            this.underTest.delete(id);
+            // Then
+            verify(this.searchIndex, never()).remove(id);
+            verify(this.titleAutocomplete, never()).remove(id);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(this.searchIndex, times(1)).remove(id);
+            verify(this.titleAutocomplete, times(1)).remove(id);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
     void whenTryingToDeleteNotExistingBookById_thenThrowEntityElementNotFoundException() {
         // Given
         final var fakeId = -1L;
-        when(this.bookRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(this.bookRepository.deleteBookById(fakeId)).thenReturn(0);
         // When // Then
         assertThatThrownBy(() -> this.underTest.delete(fakeId))
                 .isInstanceOf(EntityElementNotFoundException.class)
                 .hasMessage("Unable to delete book with id: %s", fakeId);
-        verify(this.bookRepository, never()).delete(any(Book.class));
+        verify(this.searchIndex, never()).remove(anyLong());
     }
 
     @Test
@@ -387,26 +610,29 @@ class BookServiceTest {
                 "Learning Spring Boot 3.0",
                 248,
                 "Simplify the development of production grade application with java and spring boot",
-                Set.of(greg));
+                Set.of(greg),
+                0L);
         final var book1Response = new BookResponse(
                 id,
                 "Learning Spring Boot 4.0",
                 300,
                 "some summary here",
-                Set.of(john));
+                Set.of(new AuthorSummary(john.getId(), john.getFirstname(), john.getLastname())),
+                0L);
 
         final var updatedBook1 = new Book(
                 id,
                 "Learning Spring Boot 4.0",
                 300,
                 "some summary here",
-                Set.of(john));
+                Set.of(john),
+                0L);
         when(this.bookRepository.findById(anyLong())).thenReturn(Optional.of(book1));
         when(this.authorService.findAll(any())).thenReturn(Set.of(john));
-        when(this.bookRepository.save(any(Book.class))).thenReturn(updatedBook1);
+        when(this.bookRepository.saveAndFlush(any(Book.class))).thenReturn(updatedBook1);
         when(this.mapper.fromBook(updatedBook1)).thenReturn(book1Response);
         // When
-        final var response = this.underTest.update(id, updateRequest);
+        final var response = this.underTest.update(id, updateRequest, null);
         // Then
         assertThat(response.title()).isEqualTo(updateRequest.title());
         assertThat(response.summary()).isEqualTo(updateRequest.summary());
@@ -425,11 +651,11 @@ class BookServiceTest {
                 null);
         when(this.bookRepository.findById(fakeBookId)).thenReturn(Optional.empty());
         // When // Then
-        assertThatThrownBy(() -> this.underTest.update(fakeBookId, updateRequest))
+        assertThatThrownBy(() -> this.underTest.update(fakeBookId, updateRequest, null))
                 .isInstanceOf(EntityElementNotFoundException.class)
                 .hasMessage("Unable to find book with ID: %s", fakeBookId);
         verify(this.authorService, never()).findById(any());
-        verify(this.bookRepository, never()).save(any());
+        verify(this.bookRepository, never()).saveAndFlush(any());
         verify(this.mapper, never()).fromBook(any());
     }
 
@@ -449,7 +675,8 @@ class BookServiceTest {
                 "Learning Spring Boot 3.0",
                 248,
                 "Simplify the development of production grade application with java and spring boot",
-                Set.of(greg));
+                Set.of(greg),
+                0L);
 
         final var updateRequest = new BookRequest(
                 2L,
@@ -461,10 +688,139 @@ class BookServiceTest {
         when(this.bookRepository.findById(anyLong())).thenReturn(Optional.of(book1));
         when(this.authorService.findAll(Set.of(fakeAuthorId))).thenReturn(Set.of());
         // When // Then
-        assertThatThrownBy(() -> this.underTest.update(id, updateRequest))
+        assertThatThrownBy(() -> this.underTest.update(id, updateRequest, null))
                 .isInstanceOf(BookManagementInvalidException.class)
                 .hasMessage("One or more author(s) not found for update");
-        verify(this.bookRepository, never()).save(any());
+        verify(this.bookRepository, never()).saveAndFlush(any());
         verify(this.mapper, never()).fromBook(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenUpdatingBookWithStaleExpectedVersion_thenThrowBookVersionMismatchException() {
+        // Given
+        final var id = 1L;
+        final var book1 = Book.builder().id(id).title("Learning Spring Boot 3.0").pages(248).summary("").version(4L).build();
+        final var updateRequest = new BookRequest(id, "Learning Spring Boot 4.0", 300, "", Set.of(UUID.randomUUID()));
+        when(this.bookRepository.findById(id)).thenReturn(Optional.of(book1));
+        // When // Then
+        assertThatThrownBy(() -> this.underTest.update(id, updateRequest, 3L))
+                .isInstanceOf(BookVersionMismatchException.class);
+        verify(this.authorService, never()).findAll(any());
+        verify(this.bookRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void whenPatchingBookTitle_thenOnlyTitleChangesAndAuthorsAreNotTouched() {
+        // Given
+        final var id = 1L;
+        final var greg = Author.builder().id(UUID.randomUUID()).firstname("Greg L.").lastname("Turnsquist").build();
+        final var book1 = Book.builder()
+                .id(id)
+                .title("Learning Spring Boot 3.0")
+                .pages(248)
+                .summary("Simplify the development of production grade application")
+                .authors(new HashSet<>(Set.of(greg)))
+                .version(0L)
+                .build();
+        final var patch = new BookPatchRequest("Learning Spring Boot 4.0", null, null, null);
+        when(this.bookRepository.findWithSummaryById(id)).thenReturn(Optional.of(book1));
+        // When
+        this.underTest.patch(id, patch, 0L);
+        // Then
+        assertThat(book1.getTitle()).isEqualTo("Learning Spring Boot 4.0");
+        assertThat(book1.getPages()).isEqualTo(248);
+        assertThat(book1.getSummary()).isEqualTo("Simplify the development of production grade application");
+        assertThat(book1.getAuthors()).containsExactly(greg);
+        verify(this.authorService, never()).existingIds(any());
+        verify(this.bookRepository, never()).save(any());
+        verify(this.searchIndex).index(id, "Learning Spring Boot 4.0", book1.getSummary());
+        verify(this.titleAutocomplete).put(id, "Learning Spring Boot 4.0");
+    }
+
+    @Test
+    void whenPatchingBookAuthors_thenRemoveAndAddOnlyTheDifference() {
+        // Given
+        final var id = 1L;
+        final var greg = Author.builder().id(UUID.randomUUID()).firstname("Greg L.").lastname("Turnsquist").build();
+        final var john = Author.builder().id(UUID.randomUUID()).firstname("John").lastname("Doe").build();
+        final var jane = Author.builder().id(UUID.randomUUID()).firstname("Jane").lastname("Doe").build();
+        final var book1 = Book.builder()
+                .id(id)
+                .title("Learning Spring Boot 3.0")
+                .pages(248)
+                .summary("")
+                .authors(new HashSet<>(Set.of(greg, john)))
+                .version(0L)
+                .build();
+        final var authors = book1.getAuthors();
+        final var patch = new BookPatchRequest(null, null, null, Set.of(john.getId(), jane.getId()));
+        when(this.bookRepository.findWithSummaryById(id)).thenReturn(Optional.of(book1));
+        when(this.authorService.existingIds(Set.of(jane.getId()))).thenReturn(Set.of(jane.getId()));
+        when(this.authorService.reference(jane.getId())).thenReturn(jane);
+        // When
+        this.underTest.patch(id, patch, null);
+        // Then
+        assertThat(book1.getAuthors()).isSameAs(authors).containsExactlyInAnyOrder(john, jane);
+        verify(this.authorService, never()).findAll(any());
+        verify(this.searchIndex, never()).index(any(), any(), any());
+    }
+
+    @Test
+    void whenPatchingBookWithNotExistingAuthor_thenThrowBookManagementInvalidExceptionAndKeepAuthors() {
+        // Given
+        final var id = 1L;
+        final var fakeAuthorId = UUID.randomUUID();
+        final var greg = Author.builder().id(UUID.randomUUID()).firstname("Greg L.").lastname("Turnsquist").build();
+        final var book1 = Book.builder()
+                .id(id)
+                .title("Learning Spring Boot 3.0")
+                .pages(248)
+                .summary("")
+                .authors(new HashSet<>(Set.of(greg)))
+                .version(0L)
+                .build();
+        final var patch = new BookPatchRequest(null, null, null, Set.of(fakeAuthorId));
+        when(this.bookRepository.findWithSummaryById(id)).thenReturn(Optional.of(book1));
+        when(this.authorService.existingIds(Set.of(fakeAuthorId))).thenReturn(Set.of());
+        // When // Then
+        assertThatThrownBy(() -> this.underTest.patch(id, patch, null))
+                .isInstanceOf(BookManagementInvalidException.class)
+                .hasMessage("One or more author(s) not found for update");
+        assertThat(book1.getAuthors()).containsExactly(greg);
+        verify(this.bookRepository, never()).flush();
+    }
+
+    @Test
+    void whenPatchingBookWithStaleExpectedVersion_thenThrowBookVersionMismatchException() {
+        // Given
+        final var id = 1L;
+        final var book1 = Book.builder().id(id).title("Learning Spring Boot 3.0").pages(248).summary("").version(4L).build();
+        when(this.bookRepository.findWithSummaryById(id)).thenReturn(Optional.of(book1));
+        // When // Then
+        assertThatThrownBy(() -> this.underTest.patch(id, new BookPatchRequest("Spring", null, null, null), 3L))
+                .isInstanceOf(BookVersionMismatchException.class);
+        assertThat(book1.getTitle()).isEqualTo("Learning Spring Boot 3.0");
+        verify(this.bookRepository, never()).flush();
+    }
+
+    @Test
+    void whenFindingVersionOfExistingBook_thenReturnItWithoutLoadingBook() {
+        // Given
+        when(this.bookRepository.findVersionById(1L)).thenReturn(Optional.of(7L));
+        // When
+        final var version = this.underTest.findVersion(1L);
+        // Then
+        assertThat(version).isEqualTo(7L);
+        verify(this.bookRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void whenFindingVersionOfNotExistingBook_thenThrowEntityElementNotFoundException() {
+        // Given
+        when(this.bookRepository.findVersionById(-1L)).thenReturn(Optional.empty());
+        // When // Then
+        assertThatThrownBy(() -> this.underTest.findVersion(-1L))
+                .isInstanceOf(EntityElementNotFoundException.class)
+                .hasMessage("No Book found with id: -1");
+    }
+}
@@ -0,0 +1,78 @@
+package com.workbeattalent.books.configs.datasource;
+
+import com.workbeattalent.books.BooksApplication;
+import com.workbeattalent.books.author.AuthorService;
+import com.workbeattalent.books.book.BookService;
+import com.workbeattalent.books.dto.AuthorRequest;
+import com.workbeattalent.books.dto.BookRequest;
+import org.hibernate.tool.schema.spi.SchemaManagementException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The 'h2file' profile across restarts of the application on the same database file: the schema is created by
+ * the first start and validated by the next ones.
+ */
+class H2FileProfileTest {
+
+    @TempDir
+    private Path storage;
+
+    @Test
+    void givenBookStoredInFile_whenRestarting_thenBookIsStillThereAndSearchable() {
+        // Given
+        final Long bookId;
+        try (final var context = start()) {
+            final var author = context.getBean(AuthorService.class)
+                    .create(new AuthorRequest(null, "Greg L.", "Turnquist", "greg@mail.org"));
+            bookId = context.getBean(BookService.class).store(new BookRequest(null, "Learning Spring Boot 3.0", 450,
+                    "Simplify the development of production-grade applications", Set.of(author.id()))).id();
+        }
+
+        // When
+        try (final var context = start()) {
+            final var bookService = context.getBean(BookService.class);
+
+            // Then
+            assertThat(bookService.findById(bookId).title()).isEqualTo("Learning Spring Boot 3.0");
+            assertThat(bookService.search("production", 0, 10).content()).extracting("id").containsExactly(bookId);
+        }
+    }
+
+    @Test
+    void givenFileWithOutdatedSummaryColumn_whenStarting_thenRefuseToStart() throws Exception {
+        // Given: the book table as it was before summaries were compressed
+        try (final var connection = DriverManager.getConnection("jdbc:h2:file:" + this.storage.resolve("books"), "sa", "");
+             final var statement = connection.createStatement()) {
+            statement.execute("create table book (id bigint not null, title varchar(255) not null, pages integer not null, "
+                    + "summary text not null, version bigint, primary key (id))");
+        }
+
+        // When // Then
+        assertThatThrownBy(this::start)
+                .hasRootCauseInstanceOf(SchemaManagementException.class)
+                .rootCause().hasMessageContaining("summary");
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(BooksApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2file")
+                // Arguments, as the profile file overrides default properties
+                .run("--books.storage.path=" + this.storage.resolve("books"),
+                        // Deterministic for the assertions, the background rebuild runs the same code
+                        "--books.search.rebuild-in-background=false",
+                        // Closing the context would close the cache manager shared with the cached test contexts
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false");
+    }
+}
@@ -0,0 +1,136 @@
+package com.workbeattalent.books.configs.datasource;
+
+import com.workbeattalent.books.author.AuthorRepository;
+import com.workbeattalent.books.author.AuthorService;
+import com.workbeattalent.books.book.BookRepository;
+import com.workbeattalent.books.book.BookService;
+import com.workbeattalent.books.dto.AuthorRequest;
+import com.workbeattalent.books.dto.BookRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Both pools open the same database; a session variable set by each pool tells which one served a transaction,
+ * and the per pool Hikari meters tell which pool a service method borrowed its connections from.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.connection-init-sql=SET @NODE = 'primary'",
+        "books.datasource.replica.connection-init-sql=SET @NODE = 'replica'"
+})
+@ActiveProfiles("replica")
+class ReplicaDataSourceConfigTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        this.bookRepository.deleteAll();
+        this.authorRepository.deleteAll();
+    }
+
+    @Test
+    void whenTransactionIsReadOnly_thenUseReplicaPool() {
+        // Given
+        final var transactionTemplate = new TransactionTemplate(this.transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        // When
+        final var node = transactionTemplate.execute(status -> currentNode());
+
+        // Then
+        assertThat(node).isEqualTo("replica");
+    }
+
+    @Test
+    void whenTransactionIsReadWrite_thenUsePrimaryPool() {
+        // Given
+        final var transactionTemplate = new TransactionTemplate(this.transactionManager);
+
+        // When
+        final var node = transactionTemplate.execute(status -> currentNode());
+
+        // Then
+        assertThat(node).isEqualTo("primary");
+    }
+
+    @Test
+    void givenBookStoredThroughPrimary_whenReadingThroughService_thenFoundOnReplica() {
+        // Given
+        final var author = this.authorService.create(new AuthorRequest(null, "Greg L.", "Turnquist", "greg@mail.org"));
+        final var stored = this.bookService.store(new BookRequest(null, "Learning Spring Boot 3.0", 450,
+                "Simplify the development of production-grade applications", Set.of(author.id())));
+
+        // When
+        final var page = this.bookService.findPage(null, 10);
+
+        // Then
+        assertThat(page.content()).extracting("id").containsExactly(stored.id());
+    }
+
+    @Test
+    void whenCallingReadOnlyServiceMethod_thenBorrowFromReplicaPoolOnly() {
+        // Given
+        final var primary = borrowed("primary");
+        final var replica = borrowed("replica");
+
+        // When
+        this.bookService.findPage(null, 10);
+
+        // Then
+        assertThat(borrowed("replica")).isEqualTo(replica + 1);
+        assertThat(borrowed("primary")).isEqualTo(primary);
+    }
+
+    @Test
+    void whenCallingWriteServiceMethod_thenBorrowFromPrimaryPoolOnly() {
+        // Given
+        final var primary = borrowed("primary");
+        final var replica = borrowed("replica");
+
+        // When
+        this.authorService.create(new AuthorRequest(null, "Greg L.", "Turnquist", "greg@mail.org"));
+
+        // Then
+        assertThat(borrowed("primary")).isEqualTo(primary + 1);
+        assertThat(borrowed("replica")).isEqualTo(replica);
+    }
+
+    // Connections handed out by the pool and returned to it so far
+    private long borrowed(final String pool) {
+        return this.meterRegistry.get("hikaricp.connections.usage").tag("pool", pool).timer().count();
+    }
+
+    private String currentNode() {
+        return (String) this.entityManager.createNativeQuery("select @NODE").getSingleResult();
+    }
+}
@@ -0,0 +1,68 @@
+package com.workbeattalent.books.configs.http;
+
+import com.workbeattalent.books.book.BookBulkService;
+import com.workbeattalent.books.book.BookExportService;
+import com.workbeattalent.books.book.BookService;
+import com.workbeattalent.books.rest.ApiController;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@WebMvcTest(controllers = {ApiController.class}, properties = "books.bulk.max-body-size=1KB")
+class BulkRequestLimitTest {
+
+    @MockitoBean
+    private BookService bookService;
+
+    @MockitoBean
+    private BookExportService bookExportService;
+
+    @MockitoBean
+    private BookBulkService bookBulkService;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void givenBodyOverTheLimit_whenStoringInBulk_thenRefuseItWithStatusPAYLOAD_TOO_LARGE() throws Exception {
+        // Given: a body the item limit would never see, as binding it is what costs
+        final var body = "[" + "{\"title\":\"Learning Spring Boot 3.0\"},".repeat(40) + "{}]";
+        // When // Then
+        mvc.perform(MockMvcRequestBuilders.post("/api/v1/books/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(MockMvcResultMatchers.status().isPayloadTooLarge())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message", Matchers.is("A bulk request body is limited to 1024 bytes")));
+        verify(this.bookBulkService, never()).ingest(any());
+    }
+
+    @Test
+    void givenBodyOfUnknownLength_whenStoringInBulk_thenRefuseItWithStatusBAD_REQUEST() throws Exception {
+        // When // Then
+        mvc.perform(MockMvcRequestBuilders.post("/api/v1/books/bulk")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message", Matchers.is("A bulk request must declare its Content-Length")));
+        verify(this.bookBulkService, never()).ingest(any());
+    }
+
+    @Test
+    void givenBodyWithinTheLimit_whenDeletingInBulk_thenBindIt() throws Exception {
+        // When // Then
+        mvc.perform(MockMvcRequestBuilders.post("/api/v1/books/bulk/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1,2,3]}"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        verify(this.bookBulkService).delete(any());
+    }
+}
@@ -0,0 +1,45 @@
+package com.workbeattalent.books.configs.sql;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlRecorderTest {
+
+    @Test
+    void whenShapingStatement_thenReplaceLiteralsAndCollapseParameterLists() {
+        // When
+        final var shape = SqlRecorder.shape("select b1_0.id from book b1_0\n   where b1_0.id in (?, ?, ?) and b1_0.title = 'it''s' and b1_0.pages > 12");
+        // Then
+        assertThat(shape).isEqualTo("select b1_0.id from book b1_0 where b1_0.id in (?) and b1_0.title = ? and b1_0.pages > ?");
+    }
+
+    @Test
+    void whenRecordingsAreNested_thenEveryOpenRecordingSeesTheStatement() {
+        // Given
+        try (final var outer = SqlRecorder.startForThread()) {
+            try (final var inner = SqlRecorder.startForThread()) {
+                // When
+                SqlRecorder.record("select * from book where id = 1", 3);
+                SqlRecorder.record("select * from book where id = 2", 4);
+                // Then
+                assertThat(inner.statements()).isEqualTo(2);
+                assertThat(inner.shapes()).containsEntry("select * from book where id = ?", 2);
+            }
+            SqlRecorder.record("select * from author", 1);
+            assertThat(outer.statements()).isEqualTo(3);
+            assertThat(outer.millis()).isEqualTo(8);
+        }
+    }
+
+    @Test
+    void whenNoRecordingIsOpen_thenNothingIsKept() {
+        // Given
+        final var closed = SqlRecorder.startForThread();
+        closed.close();
+        // When
+        SqlRecorder.record("select * from book", 1);
+        // Then
+        assertThat(closed.statements()).isZero();
+    }
+}
@@ -0,0 +1,112 @@
+package com.workbeattalent.books.datagen;
+
+import com.workbeattalent.books.author.Author;
+import com.workbeattalent.books.author.AuthorRepository;
+import com.workbeattalent.books.book.Book;
+import com.workbeattalent.books.book.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CatalogGeneratorTest {
+
+    @Autowired
+    private CatalogGenerator underTest;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        this.jdbc.update("delete from books_authors");
+        this.jdbc.update("delete from book");
+        this.jdbc.update("delete from author");
+    }
+
+    @Test
+    void whenGeneratingCatalog_thenEveryBookHasAtLeastOneAuthor() {
+        // When
+        final var stats = this.underTest.generate(new CatalogSpec(50, CatalogGenerator.CHUNK_SIZE + 10, 7L));
+        // Then
+        assertThat(this.authorRepository.count()).isEqualTo(50);
+        assertThat(this.bookRepository.count()).isEqualTo(CatalogGenerator.CHUNK_SIZE + 10);
+        assertThat(countOf("select count(*) from books_authors")).isEqualTo(stats.authorLinks().longValue());
+        assertThat(countOf("select count(*) from book b where not exists (select 1 from books_authors ba where ba.book_id = b.id)")).isZero();
+        assertThat(stats.authorLinks()).isGreaterThan(stats.books());
+    }
+
+    @Test
+    void whenGeneratingTwiceWithSameSeed_thenProduceSameBooksAndAuthors() {
+        // Given
+        this.underTest.generate(new CatalogSpec(20, 100, 7L));
+        final var first = titles();
+        final var firstEmails = emails();
+        tearDown();
+        // When
+        this.underTest.generate(new CatalogSpec(20, 100, 7L));
+        // Then
+        assertThat(titles()).isEqualTo(first);
+        assertThat(emails()).isEqualTo(firstEmails);
+    }
+
+    @Test
+    void givenIdsHeldByHibernate_whenStoringBooksAfterGeneration_thenTheirIdsDoNotCollide() {
+        // Given: Hibernate holds a block of ids from book_seq before the generation, whatever ran before
+        final var author = this.authorRepository.save(Author.builder().firstname("Greg L.").lastname("Turnquist").email("greg@mail.org").build());
+        final var stored = new ArrayList<Long>();
+        stored.add(store(author));
+        this.underTest.generate(new CatalogSpec(10, 120, 7L));
+        // When: more books than a block, so that they use both the block held in memory and the next one
+        for (int i = 0; i < 60; i++) stored.add(store(author));
+        // Then
+        assertThat(this.bookRepository.count()).isEqualTo(181);
+        final var generated = this.jdbc.queryForList("select id from book", Long.class).stream()
+                .filter(id -> !stored.contains(id))
+                .toList();
+        final var first = Collections.min(generated);
+        final var last = Collections.max(generated);
+        assertThat(generated).hasSize(120);
+        assertThat(stored).doesNotHaveDuplicates().noneMatch(id -> id >= first && id <= last);
+    }
+
+    private Long store(final Author author) {
+        return this.transactionTemplate.execute(status -> this.bookRepository.save(Book.builder()
+                .title("Learning Spring Boot 3.0")
+                .pages(248)
+                .summary("Simplify the development of production grade application")
+                .authors(Set.of(this.authorRepository.getReferenceById(author.getId())))
+                .build())).getId();
+    }
+
+    private long countOf(final String sql) {
+        return this.jdbc.queryForObject(sql, Long.class);
+    }
+
+    private List<String> titles() {
+        return this.jdbc.queryForList("select title from book order by id", String.class);
+    }
+
+    private List<String> emails() {
+        return this.jdbc.queryForList("select email from author order by email", String.class);
+    }
+}
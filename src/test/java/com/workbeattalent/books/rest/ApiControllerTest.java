@@ -2,21 +2,37 @@ package com.workbeattalent.books.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.workbeattalent.books.author.Author;
+import com.workbeattalent.books.book.BookBulkService;
+import com.workbeattalent.books.book.BookExportService;
 import com.workbeattalent.books.book.BookService;
 import com.workbeattalent.books.dto.AuthorRequest;
+import com.workbeattalent.books.dto.AuthorSummary;
+import com.workbeattalent.books.dto.BookBulkDeleteRequest;
+import com.workbeattalent.books.dto.BookBulkDeleteResult;
+import com.workbeattalent.books.dto.BookBulkItemResult;
+import com.workbeattalent.books.dto.BookBulkResult;
+import com.workbeattalent.books.dto.BookPage;
+import com.workbeattalent.books.dto.BookPatchRequest;
 import com.workbeattalent.books.dto.BookRequest;
 import com.workbeattalent.books.dto.BookResponse;
+import com.workbeattalent.books.dto.BookSearchResult;
+import com.workbeattalent.books.dto.TitleSuggestion;
+import com.workbeattalent.books.exceptions.BookVersionMismatchException;
 import com.workbeattalent.books.exceptions.EntityElementNotFoundException;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 import static org.mockito.Mockito.*;
@@ -29,6 +45,12 @@ class ApiControllerTest {
     @MockitoBean
     private BookService bookService;
 
+    @MockitoBean
+    private BookExportService bookExportService;
+
+    @MockitoBean
+    private BookBulkService bookBulkService;
+
     @Autowired
     private MockMvc mvc;
 
@@ -56,7 +78,8 @@ class ApiControllerTest {
                 "Learning Spring Boot 3.0",
                 248,
                 "Simplify the development of production grade application with java and spring boot",
-                Set.of(greg));
+                Set.of(new AuthorSummary(greg.getId(), greg.getFirstname(), greg.getLastname())),
+                0L);
         when(this.bookService.store(request)).thenReturn(response);
         // When // Then
         mvc.perform(MockMvcRequestBuilders.post(API_URI)
@@ -183,14 +206,48 @@ class ApiControllerTest {
         verify(this.bookService, never()).store(any());
     }
 
+    @Test
+    void givenBookRequestsList_whenStoringInBulk_thenReturnPerItemReportWithStatusOK() throws Exception {
+        // Given
+        final var authorId = UUID.randomUUID();
+        final var requests = List.of(
+                new BookRequest(null, "Learning Spring Boot 3.0", 248, "Spring boot", Set.of(authorId)),
+                new BookRequest(null, "A", 248, "Too short title", Set.of(authorId)));
+        final var report = BookBulkResult.of(List.of(
+                BookBulkItemResult.created(0, 1L),
+                BookBulkItemResult.failed(1, "Book title should be on at least 02 characters")));
+        when(this.bookBulkService.ingest(requests)).thenReturn(report);
+        // When // Then
+        mvc.perform(MockMvcRequestBuilders.post(API_URI + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.mapper.writeValueAsString(requests)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.total", Matchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.succeeded", Matchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[1].status", Matchers.is("FAILED")));
+    }
+
+    @Test
+    void givenAuthorId_whenDeletingBooksInBulk_thenReturnDeletedCount() throws Exception {
+        // Given
+        final var request = new BookBulkDeleteRequest(null, UUID.randomUUID());
+        when(this.bookBulkService.delete(request)).thenReturn(new BookBulkDeleteResult(1200));
+        // When // Then
+        mvc.perform(MockMvcRequestBuilders.post(API_URI + "/bulk/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.mapper.writeValueAsString(request)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.deleted", Matchers.is(1200)));
+    }
+
     @Test
     void givenTitleOfExistingBook__whenSearchingByTitleLikely_thenReturnOK() throws Exception {
         // Given
         final var title = "Spring";
-        final var book1 = new BookResponse(1L, "Learning Spring Boot 3.0", 248, "", Set.of());
-        final var book2 = new BookResponse(2L, "Spring Security", 300, "", Set.of());
-        final var book3 = new BookResponse(3L, "Blockchain Fundamentals", 600, "", Set.of());
-        when(this.bookService.findByTitleContaining(title)).thenReturn(List.of(book1, book2));
+        final var book1 = new BookResponse(1L, "Learning Spring Boot 3.0", 248, "", Set.of(), 0L);
+        final var book2 = new BookResponse(2L, "Spring Security", 300, "", Set.of(), 0L);
+        final var book3 = new BookResponse(3L, "Blockchain Fundamentals", 600, "", Set.of(), 0L);
+        when(this.bookService.findByTitleContaining(title, null)).thenReturn(List.of(book1, book2));
         // When // Then
         mvc.perform(MockMvcRequestBuilders.get(API_URI + "/search?title={title}", title))
                 .andExpect(MockMvcResultMatchers.status().isOk())
@@ -201,7 +258,7 @@ class ApiControllerTest {
     void givenTitleOfNotExistingBook__whenSearchingByTitleLikely_thenReturnOK() throws Exception {
         // Given
         final var title = "Spring";
-        when(this.bookService.findByTitleContaining(title)).thenReturn(Collections.emptyList());
+        when(this.bookService.findByTitleContaining(title, null)).thenReturn(Collections.emptyList());
         // When // Then
         mvc.perform(MockMvcRequestBuilders.get(API_URI + "/search?title={title}", title))
                 .andExpect(MockMvcResultMatchers.status().isOk())
@@ -209,6 +266,34 @@ class ApiControllerTest {
     }
 
 
+    @Test
+    void givenSearchQuery_whenSearchingFullText_thenReturnRankedPageWithStatusOK() throws Exception {
+        // Given
+        final var book1 = new BookResponse(1L, "Learning Spring Boot 3.0", 248, "", Set.of(), 0L);
+        final var book2 = new BookResponse(2L, "Spring Security", 300, "", Set.of(), 0L);
+        when(this.bookService.search("spring", 0, 2, null)).thenReturn(new BookSearchResult(List.of(book2, book1), 0, 2, 7));
+        // When // Then
+        mvc.perform(MockMvcRequestBuilders.get(API_URI + "/search/ranked")
+                        .param("q", "spring")
+                        .param("page", "0")
+                        .param("size", "2"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id", Matchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.total", Matchers.is(7)));
+    }
+
+    @Test
+    void givenTitlePrefix_whenRequestingAutocomplete_thenReturnSuggestionsWithStatusOK() throws Exception {
+        // Given
+        when(this.bookService.suggestTitles("spr", null))
+                .thenReturn(List.of(new TitleSuggestion(3L, "Spring Boot in Action"), new TitleSuggestion(2L, "Spring Security")));
+        // When // Then
+        mvc.perform(MockMvcRequestBuilders.get(API_URI + "/autocomplete").param("prefix", "spr"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", Matchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].title", Matchers.is("Spring Boot in Action")));
+    }
+
     @Test
     void givenValidAuthorRequest_whenRetrievingBooksByAuthor_thenReturnListOfBooksWithStatusOK() throws Exception {
         // Given
@@ -224,7 +309,8 @@ class ApiControllerTest {
                 "Learning Spring Boot 3.0",
                 248,
                 "Simplify the development of production grade application with java and spring boot",
-                Set.of(greg));
+                Set.of(new AuthorSummary(greg.getId(), greg.getFirstname(), greg.getLastname())),
+                0L);
         final var authorRequest = new AuthorRequest(authorId, "Greg L.", "Turnsquist", "turnquist@hotmail.com");
         when(this.bookService.findByAuthorName(authorRequest)).thenReturn(List.of(book));
         // When // Then
@@ -253,16 +339,76 @@ class ApiControllerTest {
     @Test
     void whenRequestingAllBooks_thenReturnOK() throws Exception {
         // Given
-        final var book1 = new BookResponse(1L, "Learning Spring Boot 3.0", 248, "", Set.of());
-        final var book2 = new BookResponse(2L, "Spring Security", 300, "", Set.of());
-        final var book3 = new BookResponse(3L, "Blockchain Fundamentals", 600, "", Set.of());
+        final var book1 = new BookResponse(1L, "Learning Spring Boot 3.0", 248, "", Set.of(), 0L);
+        final var book2 = new BookResponse(2L, "Spring Security", 300, "", Set.of(), 0L);
+        final var book3 = new BookResponse(3L, "Blockchain Fundamentals", 600, "", Set.of(), 0L);
         when(this.bookService.findAll()).thenReturn(Arrays.asList(book1, book2, book3));
         // When // Then
-        mvc.perform(MockMvcRequestBuilders.get(API_URI))
+        mvc.perform(MockMvcRequestBuilders.get(API_URI).param("unpaged", "true"))
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.size()", Matchers.is(3)));
     }
 
+    @Test
+    void givenCursorAndLimit_whenRequestingBooksPage_thenReturnPageWithNextCursorAndStatusOK() throws Exception {
+        // Given
+        final var book2 = new BookResponse(2L, "Spring Security", 300, "", Set.of(), 0L);
+        final var book3 = new BookResponse(3L, "Blockchain Fundamentals", 600, "", Set.of(), 0L);
+        when(this.bookService.findPage(1L, 2, null)).thenReturn(new BookPage(List.of(book2, book3), 2, 3L, null));
+        // When // Then
+        mvc.perform(MockMvcRequestBuilders.get(API_URI).param("after", "1").param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()", Matchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", Matchers.is(3)));
+        verify(this.bookService, never()).findAll();
+    }
+
+    @Test
+    void givenFields_whenRequestingBooksPage_thenOmitFieldsNotAskedFor() throws Exception {
+        // Given
+        final var book = new BookResponse(2L, "Spring Security", null, null, null, null);
+        when(this.bookService.findPage(null, null, "title")).thenReturn(new BookPage(List.of(book), 1, null, null));
+        // When // Then
+        mvc.perform(MockMvcRequestBuilders.get(API_URI).param("fields", "title"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].title", Matchers.is("Spring Security")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].summary").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].authors").doesNotExist());
+    }
+
+    @Test
+    void givenFieldsWithoutVersion_whenGettingBookByItsId_thenReturnSparseBookWithoutETag() throws Exception {
+        // Given
+        when(this.bookService.findById(1L, "title,pages")).thenReturn(new BookResponse(1L, "Spring Security", 300, null, null, null));
+        // When // Then
+        mvc.perform(MockMvcRequestBuilders.get(API_URI + "/{id}", 1L).param("fields", "title,pages"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.pages", Matchers.is(300)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.summary").doesNotExist());
+        verify(this.bookService, never()).findById(anyLong());
+    }
+
+    @Test
+    void whenExportingCatalog_thenStreamNdjsonWithStatusOK() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            final OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        }).when(this.bookExportService).exportAll(any());
+        // When
+        final MvcResult result = mvc.perform(MockMvcRequestBuilders.get(API_URI + "/export"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        // Then
+        mvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string("{\"id\":1}\n{\"id\":2}\n"));
+        verify(this.bookService, never()).findAll();
+    }
+
     @Test
     void givenIdOfExistingBook_whenGettingBookByItsId_thenReturnBookWithStatusOK() throws Exception {
         // Given
@@ -278,7 +424,8 @@ class ApiControllerTest {
                 "Learning Spring Boot 3.0",
                 248,
                 "Simplify the development of production grade application with java and spring boot",
-                Set.of(greg));
+                Set.of(new AuthorSummary(greg.getId(), greg.getFirstname(), greg.getLastname())),
+                0L);
         when(this.bookService.findById(id)).thenReturn(response);
         // When // Then
         mvc.perform(MockMvcRequestBuilders.get(API_URI + "/{id}", id))
@@ -287,6 +434,99 @@ class ApiControllerTest {
     }
 
 
+    @Test
+    void givenIdOfExistingBook_whenGettingBookByItsId_thenReturnVersionAsETag() throws Exception {
+        // Given
+        final var response = new BookResponse(1L, "Learning Spring Boot 3.0", 248, "", Set.of(), 3L);
+        when(this.bookService.findById(1L)).thenReturn(response);
+        // When // Then
+        mvc.perform(MockMvcRequestBuilders.get(API_URI + "/{id}", 1L))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.VARY, Matchers.containsString(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    void givenCurrentETag_whenGettingBookByItsId_thenReturnNOT_MODIFIEDWithoutLoadingBook() throws Exception {
+        // Given
+        when(this.bookService.findVersion(1L)).thenReturn(3L);
+        // When // Then
+        mvc.perform(MockMvcRequestBuilders.get(API_URI + "/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "W/\"3\""))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.VARY, Matchers.containsString(HttpHeaders.ACCEPT)))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+        verify(this.bookService, never()).findById(anyLong());
+    }
+
+    @Test
+    void givenOutdatedETag_whenGettingBookByItsId_thenReturnBookWithStatusOK() throws Exception {
+        // Given
+        final var response = new BookResponse(1L, "Learning Spring Boot 3.0", 248, "", Set.of(), 4L);
+        when(this.bookService.findVersion(1L)).thenReturn(4L);
+        when(this.bookService.findById(1L)).thenReturn(response);
+        // When // Then
+        mvc.perform(MockMvcRequestBuilders.get(API_URI + "/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    void givenStaleIfMatch_whenUpdatingBook_thenReturnPRECONDITION_FAILED() throws Exception {
+        // Given
+        final var request = new BookRequest(1L, "Spring Boot 7.0", 200, "Latest spring boot", Set.of(UUID.randomUUID()));
+        when(this.bookService.update(1L, request, 3L))
+                .thenThrow(new BookVersionMismatchException("Book with ID: 1 has been modified, current version is 4"));
+        // When // Then
+        mvc.perform(MockMvcRequestBuilders.put(API_URI + "/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.mapper.writeValueAsString(request)))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status", Matchers.is("PRECONDITION_FAILED")));
+    }
+
+    @Test
+    void givenIfMatch_whenPatchingBookTitle_thenReturnACCEPTEDWithNewETag() throws Exception {
+        // Given
+        final var patch = new BookPatchRequest("Spring Boot 7.0", null, null, null);
+        final var response = new BookResponse(1L, "Spring Boot 7.0", 248, "", Set.of(), 4L);
+        when(this.bookService.patch(1L, patch, 3L)).thenReturn(response);
+        // When // Then
+        mvc.perform(MockMvcRequestBuilders.patch(API_URI + "/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Spring Boot 7.0\"}"))
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.title", Matchers.is("Spring Boot 7.0")));
+    }
+
+    @Test
+    void givenIfMatchOfAnotherEncoding_whenPatchingBook_thenCompareItsVersion() throws Exception {
+        // Given
+        final var patch = new BookPatchRequest("Spring Boot 7.0", null, null, null);
+        final var response = new BookResponse(1L, "Spring Boot 7.0", 248, "", Set.of(), 4L);
+        when(this.bookService.patch(1L, patch, 3L)).thenReturn(response);
+        // When // Then
+        mvc.perform(MockMvcRequestBuilders.patch(API_URI + "/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"3-cbor\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Spring Boot 7.0\"}"))
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    void givenEmptyAuthors_whenPatchingBook_thenReturnBAD_REQUEST() throws Exception {
+        // When // Then
+        mvc.perform(MockMvcRequestBuilders.patch(API_URI + "/{id}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"authorIds\": []}"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        verify(this.bookService, never()).patch(anyLong(), any(), any());
+    }
+
     @Test
     void givenIdOfNotExistingBook_whenGettingBookByItsId_thenReturnNOT_FOUND() throws Exception {
         // Given
@@ -335,14 +575,15 @@ class ApiControllerTest {
                 "Spring Boot 7.0",
                 200,
                 "Production grade application with latest spring boot",
-                Set.of(greg));
+                Set.of(new AuthorSummary(greg.getId(), greg.getFirstname(), greg.getLastname())),
+                0L);
         final var request = new BookRequest(
                 id,
                 "Spring Boot 7.0",
                 200,
                 "Production grade application with latest spring boot",
                 Set.of(greg.getId()));
-        when(this.bookService.update(id, request)).thenReturn(response);
+        when(this.bookService.update(id, request, null)).thenReturn(response);
         // When // Then
         mvc.perform(MockMvcRequestBuilders.put(API_URI + "/{id}", id)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -369,6 +610,6 @@ class ApiControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.errors['title']", Matchers.is("Book title is required")))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.errors['pages']", Matchers.is("Book page numbers is required")))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.errors['authorIds']", Matchers.is("Please provide an authors id list")));
-        verify(this.bookService, never()).update(anyLong(), any(BookRequest.class));
+        verify(this.bookService, never()).update(anyLong(), any(BookRequest.class), any());
     }
 }
\ No newline at end of file
@@ -2,8 +2,11 @@ package com.workbeattalent.books.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.workbeattalent.books.author.AuthorService;
+import com.workbeattalent.books.book.BookService;
 import com.workbeattalent.books.dto.AuthorRequest;
 import com.workbeattalent.books.dto.AuthorResponse;
+import com.workbeattalent.books.dto.BookPage;
+import com.workbeattalent.books.dto.BookResponse;
 import com.workbeattalent.books.exceptions.EntityElementNotFoundException;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -16,7 +19,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.mockito.Mockito.*;
@@ -35,6 +40,9 @@ class AuthorControllerTest {
     @MockitoBean
     private AuthorService authorService;
 
+    @MockitoBean
+    private BookService bookService;
+
     @Test
     void givenValidAuthorId_whenTryingToGet_thenReturnAuthorResponse() throws Exception {
         // Given
@@ -68,6 +76,33 @@ class AuthorControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.errors", Matchers.is(Map.of())));
     }
 
+    @Test
+    void givenAuthorIdAndCursor_whenRequestingAuthorBooks_thenReturnPageWithTotal() throws Exception {
+        // Given
+        final var authorId = UUID.randomUUID();
+        final var book = new BookResponse(7L, "Learning Spring Boot 3.0", 248, "", Set.of(), 0L);
+        when(this.bookService.findPageByAuthor(authorId, 5L, 1)).thenReturn(new BookPage(List.of(book), 1, 7L, 12L));
+        // When // Then
+        this.mvc.perform(MockMvcRequestBuilders.get(API_PATH + "/{id}/books", authorId)
+                        .param("after", "5")
+                        .param("limit", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id", Matchers.is(7)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", Matchers.is(7)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.total", Matchers.is(12)));
+    }
+
+    @Test
+    void givenAnInvalidAuthorId_whenRequestingAuthorBooks_thenReturnNOT_FOUND() throws Exception {
+        // Given
+        final var fakeAuthorId = UUID.randomUUID();
+        when(this.bookService.findPageByAuthor(fakeAuthorId, null, null))
+                .thenThrow(new EntityElementNotFoundException("Unable to fetch author with ID: " + fakeAuthorId));
+        // When // Then
+        this.mvc.perform(MockMvcRequestBuilders.get(API_PATH + "/{id}/books", fakeAuthorId))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
     @Test
     void givenValidAuthor_whenRequestForCreation_thenCreateNewAuthor() throws Exception {
         // Given
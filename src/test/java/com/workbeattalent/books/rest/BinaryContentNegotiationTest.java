@@ -0,0 +1,180 @@
+package com.workbeattalent.books.rest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.workbeattalent.books.author.Author;
+import com.workbeattalent.books.author.AuthorRepository;
+import com.workbeattalent.books.book.Book;
+import com.workbeattalent.books.book.BookRepository;
+import com.workbeattalent.books.dto.BookBulkResult;
+import com.workbeattalent.books.dto.BookRequest;
+import com.workbeattalent.books.dto.BookResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The same endpoints answer in JSON, CBOR or Smile depending on the Accept header, gzip compressed when large.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BinaryContentNegotiationTest {
+
+    private final static String API_URI = "/api/v1/books";
+    private final static MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private final static int BOOKS = 30;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Author greg;
+
+    @BeforeEach
+    void setUp() {
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.greg = this.authorRepository.save(Author.builder().firstname("Greg L.").lastname("Turnquist").email("greg@mail.org").build());
+            final var books = new ArrayList<Book>();
+            for (int i = 0; i < BOOKS; i++) {
+                books.add(Book.builder()
+                        .title("Spring Book " + i)
+                        .summary("Summary of the spring book number " + i)
+                        .pages(100 + i)
+                        .authors(Set.of(this.greg))
+                        .build());
+            }
+            this.bookRepository.saveAll(books);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.bookRepository.deleteAll();
+        this.authorRepository.deleteAll();
+    }
+
+    @Test
+    void whenAcceptingCbor_thenReturnCborEncodedBooks() throws Exception {
+        // When
+        final var response = get(MediaType.APPLICATION_CBOR, null);
+        // Then
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(decode(new CBORMapper(), response.getBody())).hasSize(BOOKS);
+    }
+
+    @Test
+    void whenAcceptingSmile_thenReturnSmileEncodedBooks() throws Exception {
+        // When
+        final var response = get(SMILE, null);
+        // Then
+        assertThat(response.getHeaders().getContentType()).isEqualTo(SMILE);
+        assertThat(decode(new SmileMapper(), response.getBody())).hasSize(BOOKS);
+    }
+
+    @Test
+    void whenAcceptingNothingInParticular_thenReturnJson() throws Exception {
+        // When
+        final var response = get(MediaType.ALL, null);
+        // Then
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(decode(new ObjectMapper(), response.getBody())).hasSize(BOOKS);
+    }
+
+    @Test
+    void whenAcceptingGzip_thenCompressLargeResponses() {
+        // When
+        final var response = get(MediaType.APPLICATION_CBOR, "gzip");
+        // Then
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+    }
+
+    @Test
+    void whenGettingBookInEachEncoding_thenTagEveryEncodingApart() {
+        // Given
+        final var id = this.bookRepository.findAll().getFirst().getId();
+        // When
+        final var json = getBook(id, MediaType.APPLICATION_JSON, null);
+        final var cbor = getBook(id, MediaType.APPLICATION_CBOR, null);
+        final var smile = getBook(id, SMILE, null);
+        // Then
+        assertThat(json.getHeaders().getETag()).isEqualTo("\"0\"");
+        assertThat(cbor.getHeaders().getETag()).isEqualTo("\"0-cbor\"");
+        assertThat(smile.getHeaders().getETag()).isEqualTo("\"0-smile\"");
+        assertThat(List.of(json, cbor, smile)).allSatisfy(response -> assertThat(response.getHeaders().getVary()).contains(HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    void givenETagOfJson_whenGettingBookAsCbor_thenReturnCborBook() throws Exception {
+        // Given
+        final var id = this.bookRepository.findAll().getFirst().getId();
+        // When
+        final var notModified = getBook(id, MediaType.APPLICATION_CBOR, "\"0-cbor\"");
+        final var response = getBook(id, MediaType.APPLICATION_CBOR, "\"0\"");
+        // Then
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(new CBORMapper().readValue(response.getBody(), BookResponse.class).id()).isEqualTo(id);
+    }
+
+    @Test
+    void whenPostingCborBulkRequest_thenReadItLikeJson() throws Exception {
+        // Given
+        final var cbor = new CBORMapper();
+        final var headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_CBOR);
+        headers.setAccept(List.of(MediaType.APPLICATION_CBOR));
+        final var body = cbor.writeValueAsBytes(List.of(
+                new BookRequest(null, "Spring in Action", 520, "Covers Spring 6", Set.of(this.greg.getId()))));
+        // When
+        final var response = this.restTemplate.exchange(API_URI + "/bulk", HttpMethod.POST, new HttpEntity<>(body, headers), byte[].class);
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(cbor.readValue(response.getBody(), BookBulkResult.class).succeeded()).isEqualTo(1);
+    }
+
+    private ResponseEntity<byte[]> get(final MediaType accept, final String encoding) {
+        final var headers = new HttpHeaders();
+        headers.setAccept(List.of(accept));
+        if (encoding != null) headers.set(HttpHeaders.ACCEPT_ENCODING, encoding);
+        final var response = this.restTemplate.exchange(API_URI + "?unpaged=true", HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response;
+    }
+
+    private ResponseEntity<byte[]> getBook(final Long id, final MediaType accept, final String ifNoneMatch) {
+        final var headers = new HttpHeaders();
+        headers.setAccept(List.of(accept));
+        if (ifNoneMatch != null) headers.setIfNoneMatch(ifNoneMatch);
+        return this.restTemplate.exchange(API_URI + "/{id}", HttpMethod.GET, new HttpEntity<>(headers), byte[].class, id);
+    }
+
+    private static List<BookResponse> decode(final ObjectMapper mapper, final byte[] body) throws Exception {
+        return mapper.readValue(body, new TypeReference<>() {
+        });
+    }
+}
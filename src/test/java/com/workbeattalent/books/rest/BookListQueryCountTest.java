@@ -0,0 +1,177 @@
+package com.workbeattalent.books.rest;
+
+import com.workbeattalent.books.author.Author;
+import com.workbeattalent.books.author.AuthorRepository;
+import com.workbeattalent.books.book.Book;
+import com.workbeattalent.books.book.BookRepository;
+import com.workbeattalent.books.search.BookSearchIndexInitializer;
+import com.workbeattalent.books.support.SqlStatements;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards list endpoints against N+1 selects: each endpoint runs an exact number of statements, whatever the
+ * number of books.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookListQueryCountTest {
+
+    private final static String API_URI = "/api/v1/books";
+    private final static int BOOKS = 30;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookSearchIndexInitializer searchIndexInitializer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Author greg;
+
+    @BeforeEach
+    void setUp() {
+        final var authors = new ArrayList<Author>();
+        for (int i = 0; i < 5; i++) {
+            authors.add(Author.builder()
+                    .firstname("Firstname" + i)
+                    .lastname("Lastname" + i)
+                    .email("author" + i + "@mail.org")
+                    .build());
+        }
+        this.greg = authors.getFirst();
+
+        final var books = new ArrayList<Book>();
+        for (int i = 0; i < BOOKS; i++) {
+            books.add(Book.builder()
+                    .title("Spring Book " + i)
+                    .summary("Summary " + i)
+                    .pages(100 + i)
+                    .authors(Set.of(authors.get(i % authors.size()), authors.get((i + 1) % authors.size())))
+                    .build());
+        }
+        // One transaction, so that the books reference managed authors
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.authorRepository.saveAll(authors);
+            this.bookRepository.saveAll(books);
+        });
+        this.searchIndexInitializer.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.bookRepository.deleteAll();
+        this.authorRepository.deleteAll();
+    }
+
+    @Test
+    void whenRequestingBooksPage_thenSelectBooksThenTheirAuthorsInOneBatch() throws Exception {
+        final var sql = SqlStatements.during(() -> mvc.perform(MockMvcRequestBuilders.get(API_URI).param("limit", String.valueOf(BOOKS)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()", Matchers.is(BOOKS)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].authors.size()", Matchers.is(2))));
+        assertThat(sql.statements()).as(sql.describe()).isEqualTo(2);
+    }
+
+    @Test
+    void givenFieldsWithoutAuthors_whenRequestingBooksPage_thenSelectOnlyThoseColumns() throws Exception {
+        final var sql = SqlStatements.during(() -> mvc.perform(MockMvcRequestBuilders.get(API_URI).param("limit", String.valueOf(BOOKS)).param("fields", "title,pages"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()", Matchers.is(BOOKS)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].summary").doesNotExist()));
+        assertThat(sql.statements()).as(sql.describe()).isEqualTo(1);
+        assertThat(sql.shapes().keySet()).singleElement().satisfies(shape -> assertThat(shape).doesNotContain("summary", "author"));
+    }
+
+    @Test
+    void givenFieldsWithAuthors_whenRequestingBooksPage_thenSelectBooksThenTheirAuthorNames() throws Exception {
+        final var sql = SqlStatements.during(() -> mvc.perform(MockMvcRequestBuilders.get(API_URI).param("limit", String.valueOf(BOOKS)).param("fields", "title,authors"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].authors.size()", Matchers.is(2))));
+        assertThat(sql.statements()).as(sql.describe()).isEqualTo(2);
+        assertThat(sql.shapes().keySet()).noneMatch(shape -> shape.contains("summary") || shape.contains("email"));
+    }
+
+    @Test
+    void whenRequestingAllBooksUnpaged_thenSelectBooksWithTheirAuthors() throws Exception {
+        final var sql = SqlStatements.during(() -> mvc.perform(MockMvcRequestBuilders.get(API_URI).param("unpaged", "true"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", Matchers.is(BOOKS))));
+        assertThat(sql.statements()).as(sql.describe()).isEqualTo(1);
+    }
+
+    @Test
+    void whenSearchingByTitle_thenSelectBooksWithTheirAuthors() throws Exception {
+        final var sql = SqlStatements.during(() -> mvc.perform(MockMvcRequestBuilders.get(API_URI + "/search").param("title", "spring"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", Matchers.is(BOOKS))));
+        assertThat(sql.statements()).as(sql.describe()).isEqualTo(1);
+    }
+
+    @Test
+    void whenSearchingFullText_thenSelectRankedBooksWithTheirAuthors() throws Exception {
+        final var sql = SqlStatements.during(() -> mvc.perform(MockMvcRequestBuilders.get(API_URI + "/search/ranked").param("q", "spring").param("size", "100"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()", Matchers.is(BOOKS))));
+        assertThat(sql.statements()).as(sql.describe()).isEqualTo(1);
+    }
+
+    @Test
+    void whenSearchingByAuthorName_thenCheckAuthorThenSelectBooksWithTheirAuthors() throws Exception {
+        final var request = """
+                {"id": "%s", "firstname": "%s", "lastname": "%s", "email": "%s"}
+                """.formatted(greg.getId(), greg.getFirstname(), greg.getLastname(), greg.getEmail());
+        final var sql = SqlStatements.during(() -> mvc.perform(MockMvcRequestBuilders.post(API_URI + "/authors")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(MockMvcResultMatchers.status().isOk()));
+        assertThat(sql.statements()).as(sql.describe()).isEqualTo(2);
+    }
+
+    @Test
+    void whenPagingBooksOfAnAuthor_thenCountSelectIdsThenSelectBooksWithTheirAuthors() throws Exception {
+        final var sql = SqlStatements.during(() -> mvc.perform(MockMvcRequestBuilders.get("/api/v1/authors/{id}/books", greg.getId()).param("limit", String.valueOf(BOOKS)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.total", Matchers.is(12)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()", Matchers.is(12))));
+        assertThat(sql.statements()).as(sql.describe()).isEqualTo(3);
+    }
+
+    @Test
+    void whenExportingCatalog_thenStreamBooksThenTheirAuthorsInOneBatch() throws Exception {
+        final var lines = new ArrayList<String>();
+        final var sql = SqlStatements.during(() -> {
+            final var result = mvc.perform(MockMvcRequestBuilders.get(API_URI + "/export"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                    .andReturn();
+            mvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+            lines.addAll(result.getResponse().getContentAsString().lines().toList());
+        });
+        assertThat(lines).hasSize(BOOKS);
+        assertThat(sql.statements()).as(sql.describe()).isEqualTo(2);
+    }
+}
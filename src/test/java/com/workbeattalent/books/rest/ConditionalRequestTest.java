@@ -0,0 +1,101 @@
+package com.workbeattalent.books.rest;
+
+import com.workbeattalent.books.author.Author;
+import com.workbeattalent.books.author.AuthorRepository;
+import com.workbeattalent.books.book.Book;
+import com.workbeattalent.books.book.BookRepository;
+import com.workbeattalent.books.dto.BookRequest;
+import com.workbeattalent.books.dto.BookResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ETags and versions across the whole stack, against the stored book rather than mocks.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ConditionalRequestTest {
+
+    private final static String API_URI = "/api/v1/books";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Author greg;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.greg = this.authorRepository.save(Author.builder().firstname("Greg L.").lastname("Turnquist").email("greg@mail.org").build());
+            this.book = this.bookRepository.save(Book.builder()
+                    .title("Learning Spring Boot 3.0")
+                    .summary("Simplify the development of production grade applications")
+                    .pages(248)
+                    .authors(Set.of(this.greg))
+                    .build());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.bookRepository.deleteAll();
+        this.authorRepository.deleteAll();
+    }
+
+    @Test
+    void whenReplacingBook_thenResponseCarriesTheStoredVersion() {
+        // Given
+        final var headers = new HttpHeaders();
+        headers.setIfMatch(ETags.of(this.book.getVersion(), ""));
+        final var request = new BookRequest(null, "Learning Spring Boot 3.1", 300, "Second edition", Set.of(this.greg.getId()));
+
+        // When
+        final var response = this.restTemplate.exchange(API_URI + "/" + this.book.getId(), HttpMethod.PUT,
+                new HttpEntity<>(request, headers), BookResponse.class);
+
+        // Then
+        final var stored = this.bookRepository.findVersionById(this.book.getId()).orElseThrow();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(stored).isEqualTo(this.book.getVersion() + 1);
+        assertThat(response.getBody().version()).isEqualTo(stored);
+        assertThat(response.getHeaders().getETag()).isEqualTo(ETags.of(stored, ""));
+    }
+
+    @Test
+    void givenCurrentETag_whenGettingBook_thenNotModifiedVariesByAccept() {
+        // Given
+        final var headers = new HttpHeaders();
+        headers.setIfNoneMatch(ETags.of(this.book.getVersion(), ""));
+
+        // When
+        final var response = this.restTemplate.exchange(API_URI + "/" + this.book.getId(), HttpMethod.GET,
+                new HttpEntity<>(headers), BookResponse.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo(ETags.of(this.book.getVersion(), ""));
+        assertThat(response.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT);
+    }
+}
@@ -0,0 +1,45 @@
+package com.workbeattalent.books.rest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The Prometheus scrape exposes a latency histogram per layer: endpoint, service method and repository method,
+ * next to the Hibernate statistics.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class PrometheusMetricsTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void givenServedRequest_whenScrapingPrometheus_thenExposeHistogramsOfEveryLayer() throws Exception {
+        // Given
+        mvc.perform(MockMvcRequestBuilders.get("/api/v1/books").param("limit", "5"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        // When
+        final var scrape = mvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // Then
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .containsPattern("books_service_seconds_bucket\\{[^}]*method=\"findPage\"")
+                .containsPattern("spring_data_repository_invocations_seconds_bucket\\{[^}]*method=\"findByIdGreaterThanOrderByIdAsc\"")
+                .contains("hibernate_query_executions_total")
+                .contains("hibernate_entities_loads_total");
+    }
+}
@@ -0,0 +1,133 @@
+package com.workbeattalent.books.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex underTest;
+
+    @BeforeEach
+    void setUp() {
+        this.underTest = new BookSearchIndex();
+        this.underTest.index(1L, "Learning Spring Boot 3.0", "Simplify the development of production grade application with java and spring boot");
+        this.underTest.index(2L, "Master Blockchain", "A technical guide for the inner working of blockchain");
+        this.underTest.index(3L, "Hacking with Java", "Spring is mentioned once in this summary");
+    }
+
+    @Test
+    void whenSearchingTerm_thenTitleMatchesRankBeforeSummaryMatches() {
+        // When
+        final var result = this.underTest.search("spring", 0, 10);
+        // Then
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.hits()).extracting(SearchHit::bookId).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void whenSearchingWithDifferentCaseAndAccents_thenFoldThemBeforeMatching() {
+        // Given
+        this.underTest.index(4L, "Café Élégant", "Recettes");
+        // When
+        final var result = this.underTest.search("CAFE elegant", 0, 10);
+        // Then
+        assertThat(result.hits()).extracting(SearchHit::bookId).containsExactly(4L);
+    }
+
+    @Test
+    void whenSearchingSeveralTerms_thenBooksMatchingMoreTermsRankFirst() {
+        // When
+        final var result = this.underTest.search("java spring", 0, 10);
+        // Then
+        assertThat(result.hits()).extracting(SearchHit::bookId).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(result.hits().getFirst().score()).isGreaterThan(result.hits().getLast().score());
+    }
+
+    @Test
+    void whenSearchingWithOffsetAndLimit_thenReturnOnlyRequestedWindow() {
+        // When
+        final var first = this.underTest.search("spring", 0, 1);
+        final var second = this.underTest.search("spring", 1, 1);
+        final var beyond = this.underTest.search("spring", 2, 1);
+        // Then
+        assertThat(first.hits()).extracting(SearchHit::bookId).containsExactly(1L);
+        assertThat(second.hits()).extracting(SearchHit::bookId).containsExactly(3L);
+        assertThat(beyond.hits()).isEmpty();
+        assertThat(beyond.total()).isEqualTo(2);
+    }
+
+    @Test
+    void whenBookIsReindexed_thenOldTermsNoLongerMatch() {
+        // When
+        this.underTest.index(2L, "Mastering Kubernetes", "Containers in production");
+        // Then
+        assertThat(this.underTest.search("blockchain", 0, 10).hits()).isEmpty();
+        assertThat(this.underTest.search("kubernetes", 0, 10).hits()).extracting(SearchHit::bookId).containsExactly(2L);
+        assertThat(this.underTest.size()).isEqualTo(3);
+    }
+
+    @Test
+    void whenBookIsRemoved_thenItIsNoLongerFound() {
+        // When
+        this.underTest.remove(1L);
+        // Then
+        assertThat(this.underTest.search("spring", 0, 10).hits()).extracting(SearchHit::bookId).containsExactly(3L);
+        assertThat(this.underTest.size()).isEqualTo(2);
+    }
+
+    @Test
+    void whenQueryHasNoWords_thenReturnNoHits() {
+        // When
+        final var result = this.underTest.search(" ?! ", 0, 10);
+        // Then
+        assertThat(result.hits()).isEmpty();
+        assertThat(result.total()).isZero();
+    }
+
+    @Test
+    void givenRebuildInProgress_whenSearching_thenSeeCurrentIndexUntilItIsReplaced() {
+        // Given
+        this.underTest.beginRebuild();
+        this.underTest.load(4L, "Mastering Kubernetes", "Containers in production");
+        // When
+        final var during = this.underTest.search("kubernetes", 0, 10);
+        this.underTest.finishRebuild();
+        // Then
+        assertThat(during.hits()).isEmpty();
+        assertThat(this.underTest.search("kubernetes", 0, 10).hits()).extracting(SearchHit::bookId).containsExactly(4L);
+        assertThat(this.underTest.search("blockchain", 0, 10).hits()).isEmpty();
+        assertThat(this.underTest.size()).isEqualTo(1);
+    }
+
+    @Test
+    void givenBooksWrittenDuringRebuild_whenStaleRowsAreLoaded_thenKeepTheWrites() {
+        // Given
+        this.underTest.beginRebuild();
+        this.underTest.index(2L, "Mastering Kubernetes", "Containers in production");
+        this.underTest.remove(3L);
+        // When
+        this.underTest.load(1L, "Learning Spring Boot 3.0", "Simplify the development of production grade application with java and spring boot");
+        this.underTest.load(2L, "Master Blockchain", "A technical guide for the inner working of blockchain");
+        this.underTest.load(3L, "Hacking with Java", "Spring is mentioned once in this summary");
+        this.underTest.finishRebuild();
+        // Then
+        assertThat(this.underTest.search("blockchain", 0, 10).hits()).isEmpty();
+        assertThat(this.underTest.search("kubernetes", 0, 10).hits()).extracting(SearchHit::bookId).containsExactly(2L);
+        assertThat(this.underTest.search("spring", 0, 10).hits()).extracting(SearchHit::bookId).containsExactly(1L);
+        assertThat(this.underTest.size()).isEqualTo(2);
+    }
+
+    @Test
+    void givenCancelledRebuild_whenSearching_thenKeepCurrentIndex() {
+        // Given
+        this.underTest.beginRebuild();
+        this.underTest.load(4L, "Mastering Kubernetes", "Containers in production");
+        // When
+        this.underTest.cancelRebuild();
+        // Then
+        assertThat(this.underTest.search("kubernetes", 0, 10).hits()).isEmpty();
+        assertThat(this.underTest.size()).isEqualTo(3);
+    }
+}
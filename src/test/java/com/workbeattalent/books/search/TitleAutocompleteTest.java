@@ -0,0 +1,88 @@
+package com.workbeattalent.books.search;
+
+import com.workbeattalent.books.dto.TitleSuggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TitleAutocompleteTest {
+
+    private TitleAutocomplete underTest;
+
+    @BeforeEach
+    void setUp() {
+        this.underTest = new TitleAutocomplete();
+        this.underTest.put(1L, "Learning Spring Boot 3.0");
+        this.underTest.put(2L, "Spring Security");
+        this.underTest.put(3L, "Spring Boot in Action");
+        this.underTest.put(4L, "Master Blockchain");
+    }
+
+    @Test
+    void whenTypingPrefix_thenSuggestTitlesStartingWithItInAlphabeticalOrder() {
+        // When
+        final var suggestions = this.underTest.suggest("spr", 10);
+        // Then
+        assertThat(suggestions).extracting(TitleSuggestion::id).containsExactly(3L, 2L);
+        assertThat(suggestions.getFirst().title()).isEqualTo("Spring Boot in Action");
+    }
+
+    @Test
+    void whenTypingPrefixWithDifferentCaseAndPunctuation_thenIgnoreThem() {
+        // Given
+        this.underTest.put(5L, "Écrire du code-propre");
+        // When // Then
+        assertThat(this.underTest.suggest("SPRING  boot", 10)).extracting(TitleSuggestion::id).containsExactly(3L);
+        assertThat(this.underTest.suggest("ecrire du code p", 10)).extracting(TitleSuggestion::id).containsExactly(5L);
+    }
+
+    @Test
+    void whenMoreTitlesMatchThanLimit_thenReturnOnlyLimitSuggestions() {
+        // When // Then
+        assertThat(this.underTest.suggest("s", 1)).extracting(TitleSuggestion::id).containsExactly(3L);
+    }
+
+    @Test
+    void whenBooksShareTheSameTitle_thenSuggestBoth() {
+        // Given
+        this.underTest.put(6L, "Spring Security");
+        // When // Then
+        assertThat(this.underTest.suggest("spring sec", 10)).extracting(TitleSuggestion::id).containsExactly(2L, 6L);
+    }
+
+    @Test
+    void whenTitleIsUpdatedOrRemoved_thenSuggestionsFollow() {
+        // When
+        this.underTest.put(2L, "Reactive Spring");
+        this.underTest.remove(3L);
+        // Then
+        assertThat(this.underTest.suggest("spring", 10)).isEmpty();
+        assertThat(this.underTest.suggest("reac", 10)).extracting(TitleSuggestion::id).containsExactly(2L);
+        assertThat(this.underTest.size()).isEqualTo(3);
+    }
+
+    @Test
+    void whenPrefixIsBlank_thenSuggestNothing() {
+        assertThat(this.underTest.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void givenTitlesWrittenDuringRebuild_whenStaleTitlesAreLoaded_thenSuggestTheWritesOnceReplaced() {
+        // Given
+        this.underTest.beginRebuild();
+        this.underTest.put(2L, "Reactive Spring");
+        this.underTest.remove(3L);
+        // When
+        this.underTest.load(2L, "Spring Security");
+        this.underTest.load(3L, "Spring Boot in Action");
+        this.underTest.load(4L, "Master Blockchain");
+        final var during = this.underTest.suggest("master", 10);
+        this.underTest.finishRebuild();
+        // Then
+        assertThat(during).extracting(TitleSuggestion::id).containsExactly(4L);
+        assertThat(this.underTest.suggest("spring", 10)).isEmpty();
+        assertThat(this.underTest.suggest("reactive", 10)).extracting(TitleSuggestion::id).containsExactly(2L);
+        assertThat(this.underTest.size()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,29 @@
+package com.workbeattalent.books.support;
+
+import com.workbeattalent.books.configs.sql.SqlRecorder;
+import com.workbeattalent.books.configs.sql.SqlRecording;
+
+/**
+ * Records the SQL executed by an action, on any thread, to assert the exact statements of an endpoint:
+ * <pre>
+ * final var sql = SqlStatements.during(() -> mvc.perform(get("/api/v1/books")).andExpect(status().isOk()));
+ * assertThat(sql.statements()).as(sql.describe()).isEqualTo(2);
+ * </pre>
+ */
+public final class SqlStatements {
+
+    private SqlStatements() {
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    public static SqlRecording during(final Action action) throws Exception {
+        try (final var recording = SqlRecorder.startGlobal()) {
+            action.run();
+            return recording;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.workbeattalent.books.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompressedTextTest {
+
+    private static final String LONG_SUMMARY = "Simplify the development of production grade application with java and spring boot. ".repeat(20);
+
+    @Test
+    void givenShortText_thenStoreItRaw() {
+        final var stored = CompressedText.compress("Spring Boot 2.3 is the hottest ticket in town");
+        assertThat(stored[0]).isEqualTo(CompressedText.RAW);
+        assertThat(CompressedText.decompress(stored)).isEqualTo("Spring Boot 2.3 is the hottest ticket in town");
+    }
+
+    @Test
+    void givenLongText_thenStoreItDeflatedAndSmaller() {
+        final var stored = CompressedText.compress(LONG_SUMMARY);
+        assertThat(stored[0]).isEqualTo(CompressedText.DEFLATED);
+        assertThat(stored.length).isLessThan(LONG_SUMMARY.getBytes(StandardCharsets.UTF_8).length / 4);
+        assertThat(CompressedText.decompress(stored)).isEqualTo(LONG_SUMMARY);
+    }
+
+    @Test
+    void givenNonAsciiText_thenRoundTripIt() {
+        final var text = "Élise Ångström écrit sur les bases de données, 数据库 et ∑ ".repeat(10);
+        assertThat(CompressedText.decompress(CompressedText.compress(text))).isEqualTo(text);
+        assertThat(CompressedText.decompress(CompressedText.compress(""))).isEmpty();
+    }
+
+    @Test
+    void givenNull_thenKeepNull() {
+        assertThat(CompressedText.compress(null)).isNull();
+        assertThat(CompressedText.decompress(null)).isNull();
+    }
+
+    @Test
+    void givenUnknownHeader_thenThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> CompressedText.decompress(new byte[]{9, 1, 2}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown compressed text header: 9");
+    }
+}
@@ -62,7 +62,8 @@ class EntityDtoMapperTest {
                 "Learning Spring Boot 3.0",
                 248,
                 "Simplify the development of production grade application with java and spring boot",
-                Set.of(greg));
+                Set.of(greg),
+                0L);
         // When
         final var response = this.underTest.fromBook(book);
         // Then
@@ -71,6 +72,9 @@ class EntityDtoMapperTest {
         assertThat(response.summary()).isEqualTo(book.getSummary());
         assertThat(response.pages()).isEqualTo(book.getPages());
         assertThat(response.authors()).isNotEmpty();
+        assertThat(response.authors().iterator().next().id()).isEqualTo(greg.getId());
+        assertThat(response.authors().iterator().next().firstname()).isEqualTo(greg.getFirstname());
+        assertThat(response.authors().iterator().next().lastname()).isEqualTo(greg.getLastname());
     }
 
     @Test
@@ -0,0 +1,24 @@
+package com.workbeattalent.books.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextNormalizerTest {
+
+    @Test
+    void givenMixedCaseAccentedText_thenFoldCaseAndStripAccents() {
+        assertThat(TextNormalizer.normalize("Élise Ångström")).isEqualTo("elise angstrom");
+    }
+
+    @Test
+    void givenNullText_thenNormalizeToEmptyString() {
+        assertThat(TextNormalizer.normalize(null)).isEmpty();
+        assertThat(TextNormalizer.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void givenTextWithPunctuation_thenSplitOnNonWordCharacters() {
+        assertThat(TextNormalizer.tokenize("Learning Spring-Boot 3.0!")).containsExactly("learning", "spring", "boot", "3", "0");
+    }
+}
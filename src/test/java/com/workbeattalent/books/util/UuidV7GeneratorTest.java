@@ -0,0 +1,45 @@
+package com.workbeattalent.books.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void whenGeneratingId_thenItIsAVersion7RfcVariantUuid() {
+        // When
+        final var id = UuidV7Generator.next();
+        // Then
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void whenGeneratingId_thenItEmbedsCurrentTime() {
+        // Given
+        final var before = System.currentTimeMillis();
+        // When
+        final var id = UuidV7Generator.next();
+        // Then
+        assertThat(UuidV7Generator.timestamp(id)).isBetween(before, System.currentTimeMillis() + 1_000);
+    }
+
+    @Test
+    void whenGeneratingManyIds_thenTheyAreUniqueAndStrictlyIncreasing() {
+        // Given
+        final var seen = new HashSet<UUID>();
+        var previous = UuidV7Generator.next();
+        seen.add(previous);
+        // When // Then
+        for (int i = 0; i < 100_000; i++) {
+            final var next = UuidV7Generator.next();
+            assertThat(next.getMostSignificantBits()).isGreaterThan(previous.getMostSignificantBits());
+            assertThat(seen.add(next)).isTrue();
+            previous = next;
+        }
+    }
+}